@@ -2,6 +2,8 @@ package com.evplatform;
 
 // Java standard library imports
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
@@ -10,6 +12,7 @@ import java.util.stream.Collectors;
 // Application imports
 import com.evplatform.chainofresponsibility.ChargingRequestProcessor;
 import com.evplatform.iterators.IteratorProvider;
+import com.evplatform.iterators.TopKStationIterator;
 import com.evplatform.observers.ObserverManager;
 import com.evplatform.service.ChargingStationService;
 import com.evplatform.service.ProviderService;
@@ -109,18 +112,16 @@ public class Main {
     private static void simulateCharging() {
         System.out.println("\n===== Simulate Charging =====");
 
-        // Get all charging stations
-        List<ChargingStation> stations = stationService.getAllChargingStations();
-        if (stations.isEmpty()) {
+        // Check that there are any charging stations at all
+        if (stationService.countChargingStations() == 0) {
             System.out.println("No charging stations available.");
             return;
         }
 
         // List available stations
         System.out.println("Available stations:");
-        List<ChargingStation> availableStations = stations.stream()
-                .filter(s -> s.getStatus() == ChargingStation.ChargingStationStatus.AVAILABLE)
-                .collect(Collectors.toList());
+        List<ChargingStation> availableStations =
+                stationService.getChargingStationsByStatus(ChargingStation.ChargingStationStatus.AVAILABLE);
 
         if (availableStations.isEmpty()) {
             System.out.println("No available stations to start charging.");
@@ -143,9 +144,12 @@ public class Main {
         // Get user email
         String email = getStringInput("Enter your email: ");
 
-        // Start charging
-        selectedStation.setCurrentUserEmail(email);
-        selectedStation.setStatus(ChargingStation.ChargingStationStatus.OCCUPIED);
+        // Start charging; status and user are set together, and only if nobody took the station meanwhile
+        if (!selectedStation.compareAndSetStatus(ChargingStation.ChargingStationStatus.AVAILABLE,
+                ChargingStation.ChargingStationStatus.OCCUPIED, email)) {
+            System.out.println("Station " + selectedStation.getName() + " is no longer available.");
+            return;
+        }
 
         System.out.println("Charging started at " + selectedStation.getName());
 
@@ -353,6 +357,9 @@ public class Main {
             System.out.println("2. Show High-Power Charging Stations");
             System.out.println("3. Show Charging Stations by Region");
             System.out.println("4. Show All Charging Stations Sorted by Name");
+            System.out.println("5. Show Charging Stations by Region (All Providers)");
+            System.out.println("6. Show Available High-Power Charging Stations (All Providers)");
+            System.out.println("7. Show Top Charging Stations");
             System.out.println("0. Back to Main Menu");
             System.out.println("==================================");
 
@@ -371,6 +378,15 @@ public class Main {
                 case 4:
                     showAllChargingStationsSorted();
                     break;
+                case 5:
+                    showAllChargingStationsByRegion();
+                    break;
+                case 6:
+                    showAllAvailableHighPowerChargingStations();
+                    break;
+                case 7:
+                    showTopChargingStations();
+                    break;
                 case 0:
                     back = true;
                     break;
@@ -687,7 +703,7 @@ public class Main {
 
         // Set status
         System.out.println("Available statuses:");
-        ChargingStation.ChargingStationStatus[] statuses = ChargingStation.ChargingStationStatus.values();
+        ChargingStation.ChargingStationStatus[] statuses = adminStatuses();
         for (int i = 0; i < statuses.length; i++) {
             System.out.println((i + 1) + ". " + statuses[i]);
         }
@@ -864,7 +880,7 @@ public class Main {
 
             System.out.println("Current status: " + station.getStatus());
             System.out.println("Available statuses:");
-            ChargingStation.ChargingStationStatus[] statuses = ChargingStation.ChargingStationStatus.values();
+            ChargingStation.ChargingStationStatus[] statuses = adminStatuses();
             for (int i = 0; i < statuses.length; i++) {
                 System.out.println((i + 1) + ". " + statuses[i]);
             }
@@ -991,6 +1007,70 @@ public class Main {
         }
     }
 
+    private static void showAllAvailableHighPowerChargingStations() {
+        // Get minimum power threshold and optional region
+        double minPower = getDoubleInput("Enter minimum charging power (kW): ");
+        String region = getStringInputWithDefault("Enter region (leave empty for all regions): ", null);
+
+        try {
+            System.out.println("\n===== Available High-Power Charging Stations (>" + minPower + " kW, All Providers) =====");
+            IteratorProvider iteratorProvider = IteratorProvider.getInstance();
+
+            // Get available high-power stations iterator across all providers
+            Iterator<ChargingStation> iterator = iteratorProvider.getSpeedStationIterator(
+                    minPower, ChargingStation.ChargingStationStatus.AVAILABLE, region);
+
+            if (!iterator.hasNext()) {
+                System.out.println("No available charging stations found with power above " + minPower + " kW.");
+                return;
+            }
+
+            // Iterate and display stations in ID order, the default order of station queries
+            while (iterator.hasNext()) {
+                ChargingStation station = iterator.next();
+                Provider provider = station.getProvider();
+                String providerName = (provider != null) ? provider.getName() : "Unknown";
+
+                System.out.println("ID: " + station.getId() + " | Name: " + station.getName() +
+                        " | Location: " + station.getLocation() + " | Provider: " + providerName +
+                        " | Power: " + station.getMaxPowerKw() + " kW");
+            }
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    private static void showAllChargingStationsByRegion() {
+        // Get region
+        String region = getStringInput("Enter region (partial location match): ");
+
+        try {
+            System.out.println("\n===== Charging Stations in Region: " + region + " (All Providers) =====");
+            IteratorProvider iteratorProvider = IteratorProvider.getInstance();
+
+            // Get region-filtered stations iterator across all providers
+            Iterator<ChargingStation> iterator = iteratorProvider.getRegionStationIterator(region);
+
+            if (!iterator.hasNext()) {
+                System.out.println("No charging stations found in region '" + region + "'.");
+                return;
+            }
+
+            // Iterate and display stations in the region
+            while (iterator.hasNext()) {
+                ChargingStation station = iterator.next();
+                Provider provider = station.getProvider();
+                String providerName = (provider != null) ? provider.getName() : "Unknown";
+
+                System.out.println("ID: " + station.getId() + " | Name: " + station.getName() +
+                        " | Location: " + station.getLocation() + " | Provider: " + providerName +
+                        " | Status: " + station.getStatus());
+            }
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
     private static void showAllChargingStationsSorted() {
         try {
             System.out.println("\n===== All Charging Stations (Sorted by Name) =====");
@@ -1020,6 +1100,56 @@ public class Main {
         }
     }
 
+    private static void showTopChargingStations() {
+        System.out.println("Order by: 1. Name  2. Power (highest first)  3. Distance from a point");
+        int order = getIntInput("Enter your choice: ");
+
+        Comparator<ChargingStation> comparator;
+        switch (order) {
+            case 1:
+                comparator = TopKStationIterator.byName();
+                break;
+            case 2:
+                comparator = TopKStationIterator.byPowerDescending();
+                break;
+            case 3:
+                double latitude = getDoubleInput("Enter latitude: ");
+                double longitude = getDoubleInput("Enter longitude: ");
+                comparator = TopKStationIterator.byDistanceFrom(latitude, longitude);
+                break;
+            default:
+                System.out.println("Invalid choice.");
+                return;
+        }
+        int limit = getIntInput("How many stations to show: ");
+
+        try {
+            System.out.println("\n===== Top " + limit + " Charging Stations =====");
+            IteratorProvider iteratorProvider = IteratorProvider.getInstance();
+
+            // Get bounded top-K iterator across all providers
+            Iterator<ChargingStation> iterator = iteratorProvider.getTopStationsIterator(comparator, limit);
+
+            if (!iterator.hasNext()) {
+                System.out.println("No charging stations found in the system.");
+                return;
+            }
+
+            while (iterator.hasNext()) {
+                ChargingStation station = iterator.next();
+                Provider provider = station.getProvider();
+                String providerName = (provider != null) ? provider.getName() : "Unknown";
+
+                System.out.println("Name: " + station.getName() +
+                        " | Provider: " + providerName +
+                        " | Location: " + station.getLocation() +
+                        " | Power: " + station.getMaxPowerKw() + " kW");
+            }
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
     // User management methods
 
     private static void listAllUsers() {
@@ -1254,23 +1384,16 @@ public class Main {
         User selectedUser = users.get(userChoice - 1);
 
         // Find a station that is already occupied
-        List<ChargingStation> stations = stationService.getAllChargingStations();
-        List<ChargingStation> occupiedStations = new ArrayList<>();
-
-        for (ChargingStation station : stations) {
-            if (station.getStatus() == ChargingStation.ChargingStationStatus.OCCUPIED) {
-                occupiedStations.add(station);
-            }
-        }
+        List<ChargingStation> occupiedStations = new ArrayList<>(
+                stationService.getChargingStationsByStatus(ChargingStation.ChargingStationStatus.OCCUPIED));
 
         if (occupiedStations.isEmpty()) {
             // If no occupied station, occupy one first
             System.out.println("No occupied stations found. Occupying a station first...");
 
             // Find an available station
-            List<ChargingStation> availableStations = stations.stream()
-                    .filter(s -> s.getStatus() == ChargingStation.ChargingStationStatus.AVAILABLE)
-                    .collect(Collectors.toList());
+            List<ChargingStation> availableStations =
+                    stationService.getChargingStationsByStatus(ChargingStation.ChargingStationStatus.AVAILABLE);
 
             if (availableStations.isEmpty()) {
                 System.out.println("No available stations to occupy.");
@@ -1343,10 +1466,8 @@ public class Main {
         }
 
         // Find an available station
-        List<ChargingStation> stations = stationService.getAllChargingStations();
-        List<ChargingStation> availableStations = stations.stream()
-                .filter(s -> s.getStatus() == ChargingStation.ChargingStationStatus.AVAILABLE)
-                .collect(Collectors.toList());
+        List<ChargingStation> availableStations =
+                stationService.getChargingStationsByStatus(ChargingStation.ChargingStationStatus.AVAILABLE);
 
         if (availableStations.isEmpty()) {
             System.out.println("No available stations found. Please make a station available first.");
@@ -1405,9 +1526,9 @@ public class Main {
         }
 
         // Find a high-power station (compact cars can only use up to 50kW stations)
-        List<ChargingStation> stations = stationService.getAllChargingStations();
-        List<ChargingStation> highPowerStations = stations.stream()
-                .filter(s -> s.getStatus() == ChargingStation.ChargingStationStatus.AVAILABLE && s.getMaxPowerKw() > 100.0)
+        List<ChargingStation> highPowerStations =
+                stationService.getChargingStationsByStatus(ChargingStation.ChargingStationStatus.AVAILABLE).stream()
+                .filter(s -> s.getMaxPowerKw() > 100.0)
                 .collect(Collectors.toList());
 
         if (highPowerStations.isEmpty()) {
@@ -1463,10 +1584,8 @@ public class Main {
         User selectedUser = users.get(userChoice - 1);
 
         // Find available stations that are compatible with the user's car type
-        List<ChargingStation> stations = stationService.getAllChargingStations();
-        List<ChargingStation> availableStations = stations.stream()
-                .filter(s -> s.getStatus() == ChargingStation.ChargingStationStatus.AVAILABLE)
-                .collect(Collectors.toList());
+        List<ChargingStation> availableStations =
+                stationService.getChargingStationsByStatus(ChargingStation.ChargingStationStatus.AVAILABLE);
 
         if (availableStations.isEmpty()) {
             System.out.println("No available stations found. Please make a station available first.");
@@ -1532,6 +1651,16 @@ public class Main {
 
     // Helper methods
 
+    /**
+     * Statuses an administrator may set by hand. RESERVED is left out: only a charging request holds it,
+     * between its checks and the start of charging, and setting it by hand would strand the station.
+     */
+    private static ChargingStation.ChargingStationStatus[] adminStatuses() {
+        return Arrays.stream(ChargingStation.ChargingStationStatus.values())
+                .filter(status -> status != ChargingStation.ChargingStationStatus.RESERVED)
+                .toArray(ChargingStation.ChargingStationStatus[]::new);
+    }
+
     private static int selectProvider() {
         // Get all providers
         List<Provider> providers = providerService.getAllProviders();
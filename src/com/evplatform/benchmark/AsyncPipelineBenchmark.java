@@ -0,0 +1,123 @@
+package com.evplatform.benchmark;
+
+import com.evplatform.chainofresponsibility.ChargingRequestPipeline;
+import com.evplatform.chainofresponsibility.ChargingRequestProcessor;
+import com.evplatform.observers.ChargingStationDisplay;
+import com.evplatform.observers.ObserverManager;
+import com.evplatform.service.ChargingStationService;
+import com.evplatform.service.ProviderService;
+import com.evplatform.service.UserService;
+import com.evplatform.vao.ChargingRequest;
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.Provider;
+import com.evplatform.vao.User;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures charging request latency through ChargingRequestPipeline under an open-loop load:
+ * requests are sent at a fixed rate whether or not earlier ones have finished, first at the base rate
+ * and then at ten times that rate. Latency is counted from when a request was due to be sent,
+ * so time spent waiting for a free pipeline slot is included.
+ * Accepted sessions are ended straight away so stations keep becoming available.
+ * The console station display is detached, as it would be in a backend without a terminal,
+ * because it lists every station on each status change.
+ *
+ * Run with: java com.evplatform.benchmark.AsyncPipelineBenchmark [baseRatePerSecond] [seconds] [stations]
+ */
+public class AsyncPipelineBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int baseRate = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int stationCount = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+
+        ProviderService providerService = ProviderService.getInstance();
+        ChargingStationService stationService = ChargingStationService.getInstance();
+        UserService userService = UserService.getInstance();
+        ChargingRequestProcessor processor = ChargingRequestProcessor.getInstance();
+
+        int providerId = providerService.addProvider(new Provider(0, "Pipeline Provider", "Ops", "ops@pipeline.test", "", ""));
+        ChargingStationDisplay display = ObserverManager.getInstance().getStationDisplay();
+        int[] stationIds = new int[stationCount];
+        for (int i = 0; i < stationCount; i++) {
+            stationIds[i] = stationService.addChargingStation(new ChargingStation(0, "Pipeline " + i, "Pipeline Lane " + i,
+                    null, ChargingStation.ChargingStationStatus.AVAILABLE, providerId, 2, 22.0));
+            stationService.getChargingStationById(stationIds[i]).removeObserver(display);
+        }
+        int[] userIds = new int[256];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = userService.addUser(new User(0, "Driver " + i, "driver" + i + "@pipeline.test", 1e9, User.CarType.SEDAN));
+        }
+
+        ChargingRequestPipeline pipeline = new ChargingRequestPipeline(processor, 4096,
+                ChargingRequestPipeline.BackpressurePolicy.WAIT);
+
+        System.out.println("Stations: " + stationCount + ", cores: " + Runtime.getRuntime().availableProcessors());
+        PrintStream console = System.out;
+        // The remaining station observers report every status change on stdout; silence them while measuring
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        run(pipeline, stationService, stationIds, userIds, baseRate, 1); // Warm-up, not reported
+        long[] base = run(pipeline, stationService, stationIds, userIds, baseRate, seconds);
+        long[] tenfold = run(pipeline, stationService, stationIds, userIds, baseRate * 10, seconds);
+        System.setOut(console);
+
+        System.out.printf("%-10s %10s %10s %10s %10s%n", "rate/s", "requests", "p50 us", "p99 us", "max us");
+        report(baseRate, base);
+        report(baseRate * 10, tenfold);
+        pipeline.shutdown();
+    }
+
+    private static long[] run(ChargingRequestPipeline pipeline, ChargingStationService stationService,
+                              int[] stationIds, int[] userIds, int rate, int seconds) throws InterruptedException {
+        int total = rate * seconds;
+        long[] latencies = new long[total];
+        CountDownLatch done = new CountDownLatch(total);
+        AtomicInteger failures = new AtomicInteger();
+        Random random = new Random(7);
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < total; i++) {
+            long due = start + i * interval;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            ChargingRequest request = new ChargingRequest(userIds[random.nextInt(userIds.length)],
+                    stationIds[random.nextInt(stationIds.length)], 1.0);
+            pipeline.submit(request).whenComplete((result, error) -> {
+                latencies[index] = System.nanoTime() - due;
+                if (error != null) {
+                    failures.incrementAndGet();
+                } else if (result.isAccepted()) {
+                    ChargingStation station = stationService.getChargingStationById(request.getStationId());
+                    station.compareAndSetStatus(ChargingStation.ChargingStationStatus.OCCUPIED,
+                            ChargingStation.ChargingStationStatus.AVAILABLE);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " requests failed");
+        }
+        return latencies;
+    }
+
+    private static void report(int rate, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-10d %10d %10d %10d %10d%n", rate, sorted.length,
+                sorted[sorted.length / 2] / 1_000,
+                sorted[(int) (sorted.length * 0.99)] / 1_000,
+                sorted[sorted.length - 1] / 1_000);
+    }
+}
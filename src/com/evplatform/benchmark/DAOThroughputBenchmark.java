@@ -0,0 +1,218 @@
+package com.evplatform.benchmark;
+
+import com.evplatform.dao.ChargingStationDAO;
+import com.evplatform.dao.ConcurrentIdTable;
+import com.evplatform.vao.ChargingStation;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures station store throughput on a mixed 90% read / 10% write workload for an increasing number of threads.
+ * The previous single-monitor ID-indexed array is compared with the lock-free ConcurrentIdTable and striped
+ * write locks that replaced it; both find a station in O(1), so their ratio is what the locking change adds.
+ * The full ChargingStationDAO is listed as well; its writes also keep the secondary indexes and the snapshot
+ * view up to date, which neither of the other two stores does.
+ *
+ * Run with: java com.evplatform.benchmark.DAOThroughputBenchmark [stations] [millisPerRun]
+ */
+public class DAOThroughputBenchmark {
+
+    private static final int READ_PERCENT = 90;
+
+    public static void main(String[] args) throws InterruptedException {
+        int stationCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        long millisPerRun = args.length > 1 ? Long.parseLong(args[1]) : 1_000;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Stations: " + stationCount + ", read/write mix: " + READ_PERCENT + "/" + (100 - READ_PERCENT));
+        System.out.printf("%-8s %20s %20s %10s %20s%n",
+                "threads", "global lock ops/s", "striped table ops/s", "speedup", "full DAO ops/s");
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double legacy = run(fill(new SingleLockArrayStationStore(), stationCount), stationCount, threads, millisPerRun);
+            double striped = run(fill(new StripedTableStationStore(), stationCount), stationCount, threads, millisPerRun);
+            double full = run(fill(new CurrentStationStore(), stationCount), stationCount, threads, millisPerRun);
+            System.out.printf("%-8d %20.0f %20.0f %9.2fx %20.0f%n", threads, legacy, striped, striped / legacy, full);
+        }
+    }
+
+    private static StationStore fill(StationStore dao, int stationCount) {
+        for (int i = 0; i < stationCount; i++) {
+            dao.add(new ChargingStation(0, "Station " + i, "Location " + i, "46.0,14.5",
+                    ChargingStation.ChargingStationStatus.AVAILABLE, 1, 2, 50.0));
+        }
+        return dao;
+    }
+
+    private static double run(StationStore dao, int stationCount, int threads, long millis)
+            throws InterruptedException {
+        // Warm up once so JIT compilation is not measured
+        measure(dao, stationCount, threads, millis / 2);
+        return measure(dao, stationCount, threads, millis);
+    }
+
+    private static double measure(StationStore dao, int stationCount, int threads, long millis)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + millis * 1_000_000L + 50_000_000L;
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long local = 0;
+                try {
+                    start.await();
+                    while (System.nanoTime() < deadline) {
+                        int id = 1 + random.nextInt(stationCount);
+                        if (random.nextInt(100) < READ_PERCENT) {
+                            dao.getById(id);
+                        } else {
+                            ChargingStation station = dao.getById(id);
+                            if (station != null) {
+                                dao.update(station);
+                            }
+                        }
+                        local++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    operations.add(local);
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        return operations.sum() / seconds;
+    }
+
+    /**
+     * Operations exercised by the benchmark, implemented by the current DAO and both primary-key stores
+     */
+    private interface StationStore {
+        int add(ChargingStation station);
+
+        ChargingStation getById(int id);
+
+        boolean update(ChargingStation station);
+    }
+
+    /**
+     * Adapter exposing the current ChargingStationDAO as a StationStore
+     */
+    private static class CurrentStationStore implements StationStore {
+        private final ChargingStationDAO dao = new ChargingStationDAO();
+
+        @Override
+        public int add(ChargingStation station) {
+            return dao.add(station);
+        }
+
+        @Override
+        public ChargingStation getById(int id) {
+            return dao.getById(id);
+        }
+
+        @Override
+        public boolean update(ChargingStation station) {
+            return dao.update(station);
+        }
+    }
+
+    /**
+     * Primary-key store of the current ChargingStationDAO without its secondary indexes:
+     * lock-free reads from the ID table, and writers serialized per lock stripe
+     */
+    private static class StripedTableStationStore implements StationStore {
+        private static final int LOCK_STRIPES = 64;
+
+        private final ConcurrentIdTable<ChargingStation> stations = new ConcurrentIdTable<>();
+        private final Object[] stripes = new Object[LOCK_STRIPES];
+
+        StripedTableStationStore() {
+            for (int i = 0; i < LOCK_STRIPES; i++) {
+                stripes[i] = new Object();
+            }
+        }
+
+        @Override
+        public int add(ChargingStation station) {
+            int id = stations.allocateId();
+            station.setId(id);
+            synchronized (stripes[id & (LOCK_STRIPES - 1)]) {
+                stations.insert(id, station);
+            }
+            return id;
+        }
+
+        @Override
+        public ChargingStation getById(int id) {
+            return stations.get(id);
+        }
+
+        @Override
+        public boolean update(ChargingStation station) {
+            synchronized (stripes[station.getId() & (LOCK_STRIPES - 1)]) {
+                return stations.replace(station.getId(), station) != null;
+            }
+        }
+    }
+
+    /**
+     * Baseline copied from the previous ChargingStationDAO: stations in an array slot per ID behind one monitor.
+     */
+    private static class SingleLockArrayStationStore implements StationStore {
+        private ChargingStation[] stationsById = new ChargingStation[64];
+        private final Object lock = new Object();
+        private int nextId = 1;
+
+        @Override
+        public int add(ChargingStation station) {
+            synchronized (lock) {
+                int id = nextId++;
+                if (id >= stationsById.length) {
+                    stationsById = Arrays.copyOf(stationsById, Math.max(id + 1, stationsById.length * 2));
+                }
+                station.setId(id);
+                stationsById[id] = station;
+                return id;
+            }
+        }
+
+        @Override
+        public ChargingStation getById(int id) {
+            synchronized (lock) {
+                return slotFor(id);
+            }
+        }
+
+        @Override
+        public boolean update(ChargingStation station) {
+            synchronized (lock) {
+                int id = station.getId();
+                if (slotFor(id) == null) {
+                    return false;
+                }
+                stationsById[id] = station;
+                return true;
+            }
+        }
+
+        private ChargingStation slotFor(int id) {
+            if (id <= 0 || id >= nextId) {
+                return null;
+            }
+            return stationsById[id];
+        }
+    }
+}
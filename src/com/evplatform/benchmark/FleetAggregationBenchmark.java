@@ -0,0 +1,71 @@
+package com.evplatform.benchmark;
+
+import com.evplatform.dao.ChargingStationDAO;
+import com.evplatform.vao.ChargingStation;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures a fleet-wide aggregation (total kW per provider per status) over ChargingStationDAO.stream(),
+ * run sequentially and in parallel on the common fork/join pool.
+ *
+ * Run with: java com.evplatform.benchmark.FleetAggregationBenchmark [stations] [providers] [iterations]
+ */
+public class FleetAggregationBenchmark {
+
+    public static void main(String[] args) {
+        int stationCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int providerCount = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        ChargingStationDAO dao = new ChargingStationDAO();
+        Random random = new Random(42);
+        ChargingStation.ChargingStationStatus[] statuses = ChargingStation.ChargingStationStatus.values();
+        for (int i = 0; i < stationCount; i++) {
+            dao.add(new ChargingStation(0, "Station " + i, "Location " + i, null,
+                    statuses[random.nextInt(statuses.length)], 1 + random.nextInt(providerCount),
+                    2, 11 + random.nextInt(340)));
+        }
+        // Remove some stations so the table has gaps, as it does after real deletes
+        for (int id = 1; id <= stationCount; id += 7) {
+            dao.delete(id);
+        }
+
+        System.out.println("Stations: " + dao.count() + ", providers: " + providerCount +
+                ", cores: " + Runtime.getRuntime().availableProcessors());
+
+        Map<Integer, Map<ChargingStation.ChargingStationStatus, Double>> sequential = aggregate(dao.stream());
+        Map<Integer, Map<ChargingStation.ChargingStationStatus, Double>> parallel = aggregate(dao.stream().parallel());
+        if (!sequential.equals(parallel)) {
+            throw new IllegalStateException("Sequential and parallel aggregation disagree");
+        }
+
+        double sequentialMillis = time(dao, false, iterations);
+        double parallelMillis = time(dao, true, iterations);
+        System.out.printf("%-12s %12s%n", "mode", "ms/run");
+        System.out.printf("%-12s %12.2f%n", "sequential", sequentialMillis);
+        System.out.printf("%-12s %12.2f%n", "parallel", parallelMillis);
+        System.out.printf("speedup: %.2fx%n", sequentialMillis / parallelMillis);
+    }
+
+    private static Map<Integer, Map<ChargingStation.ChargingStationStatus, Double>> aggregate(Stream<ChargingStation> stations) {
+        return stations.collect(Collectors.groupingBy(ChargingStation::getProviderId,
+                Collectors.groupingBy(ChargingStation::getStatus,
+                        Collectors.summingDouble(ChargingStation::getMaxPowerKw))));
+    }
+
+    private static double time(ChargingStationDAO dao, boolean parallel, int iterations) {
+        // Warm up once so JIT compilation is not measured
+        for (int i = 0; i < iterations / 2 + 1; i++) {
+            aggregate(parallel ? dao.stream().parallel() : dao.stream());
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            aggregate(parallel ? dao.stream().parallel() : dao.stream());
+        }
+        return (System.nanoTime() - begin) / 1e6 / iterations;
+    }
+}
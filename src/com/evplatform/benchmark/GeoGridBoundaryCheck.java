@@ -0,0 +1,132 @@
+package com.evplatform.benchmark;
+
+import com.evplatform.dao.index.GeoDistance;
+import com.evplatform.dao.index.GeoGridStationIndex;
+import com.evplatform.vao.ChargingStation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Correctness check for the geo grid at the edges of the longitude range, where column indices wrap.
+ * Stations are placed on longitude 180 and -180, just inside them and elsewhere; bounding boxes touching or
+ * crossing the antimeridian and nearest-neighbour searches beside it are compared with a brute-force scan.
+ * Longitudes 180 and -180 are the same meridian, so a station on it belongs to every box reaching either.
+ * Exits with status 1 if any search disagrees with the scan.
+ *
+ * Run with: java com.evplatform.benchmark.GeoGridBoundaryCheck [stations] [queries]
+ */
+public class GeoGridBoundaryCheck {
+
+    private static final double[] CELL_DEGREES = {0.1, 0.7, 1.0};
+
+    public static void main(String[] args) {
+        int stationCount = args.length > 0 ? Integer.parseInt(args[0]) : 3_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        int failures = 0;
+        for (double cellDegrees : CELL_DEGREES) {
+            Random random = new Random(42);
+            GeoGridStationIndex index = new GeoGridStationIndex(cellDegrees);
+            List<ChargingStation> stations = new ArrayList<>();
+            for (int id = 1; id <= stationCount; id++) {
+                double latitude = random.nextDouble() * 20 - 10;
+                double longitude;
+                switch (id % 5) {
+                    case 0:
+                        longitude = 180.0;
+                        break;
+                    case 1:
+                        longitude = -180.0;
+                        break;
+                    case 2:
+                        longitude = 180.0 - random.nextDouble() * 3;
+                        break;
+                    case 3:
+                        longitude = -180.0 + random.nextDouble() * 3;
+                        break;
+                    default:
+                        longitude = random.nextDouble() * 360 - 180;
+                }
+                ChargingStation station = new ChargingStation(id, "Edge " + id, "Edge", latitude + "," + longitude,
+                        ChargingStation.ChargingStationStatus.AVAILABLE, 1, 2, 50.0);
+                index.index(station);
+                stations.add(station);
+            }
+
+            double[][] boxes = {
+                    {-5, 170, 5, 180},       // East edge on the antimeridian
+                    {-5, -180, 5, -170},     // West edge on the antimeridian
+                    {-5, 179.5, 5, -179.5},  // Crossing it
+                    {-5, 0, 5, 180},         // Half the globe up to it
+                    {-5, -180, 5, 180},      // Whole width
+                    {-5, 100, 5, 150},       // Not touching it
+            };
+            int boxFailures = 0;
+            for (double[] box : boxes) {
+                Set<Integer> expected = new TreeSet<>();
+                for (ChargingStation station : stations) {
+                    if (inBox(station, box)) {
+                        expected.add(station.getId());
+                    }
+                }
+                Set<Integer> found = new TreeSet<>();
+                int visits = 0;
+                for (ChargingStation station : index.findInBoundingBox(box[0], box[1], box[2], box[3], null)) {
+                    found.add(station.getId());
+                    visits++;
+                }
+                if (!expected.equals(found) || visits != found.size()) {
+                    boxFailures++;
+                    System.out.println("Box " + box[1] + ".." + box[3] + " with " + cellDegrees + " degree cells: expected "
+                            + expected.size() + " stations, found " + found.size() + " in " + visits + " results");
+                }
+            }
+
+            int nearestFailures = 0;
+            for (int q = 0; q < queries; q++) {
+                double latitude = random.nextDouble() * 20 - 10;
+                double longitude = random.nextBoolean() ? 180.0 - random.nextDouble() : -180.0 + random.nextDouble();
+                int k = 1 + random.nextInt(10);
+                List<ChargingStation> nearest = index.findNearest(latitude, longitude, k, null);
+                List<ChargingStation> byDistance = new ArrayList<>(stations);
+                byDistance.sort(Comparator.comparingDouble(station -> distance(latitude, longitude, station)));
+                if (nearest.size() != k || Math.abs(distance(latitude, longitude, nearest.get(k - 1))
+                        - distance(latitude, longitude, byDistance.get(k - 1))) > 1e-9) {
+                    nearestFailures++;
+                }
+            }
+
+            System.out.println("Cells " + cellDegrees + " degrees: box mismatches " + boxFailures + "/" + boxes.length
+                    + ", nearest mismatches " + nearestFailures + "/" + queries);
+            failures += boxFailures + nearestFailures;
+        }
+
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures + " searches disagreed with the brute-force scan");
+            System.exit(1);
+        }
+        System.out.println("OK: every box and nearest search at the antimeridian matched the brute-force scan");
+    }
+
+    private static boolean inBox(ChargingStation station, double[] box) {
+        if (station.getLatitude() < box[0] || station.getLatitude() > box[2]) {
+            return false;
+        }
+        double longitude = station.getLongitude();
+        if (Math.abs(longitude) == 180.0) {
+            return box[1] > box[3] || box[1] <= -180.0 || box[3] >= 180.0;
+        }
+        return box[1] <= box[3]
+                ? longitude >= box[1] && longitude <= box[3]
+                : longitude >= box[1] || longitude <= box[3];
+    }
+
+    private static double distance(double latitude, double longitude, ChargingStation station) {
+        return GeoDistance.haversineKm(latitude, longitude, station.getLatitude(), station.getLongitude());
+    }
+}
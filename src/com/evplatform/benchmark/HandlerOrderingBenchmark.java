@@ -0,0 +1,118 @@
+package com.evplatform.benchmark;
+
+import com.evplatform.chainofresponsibility.ChargingRequestProcessor;
+import com.evplatform.chainofresponsibility.HandlerStatistics;
+import com.evplatform.observers.ChargingStationDisplay;
+import com.evplatform.observers.ObserverManager;
+import com.evplatform.service.ChargingStationService;
+import com.evplatform.service.ProviderService;
+import com.evplatform.service.UserService;
+import com.evplatform.vao.ChargingRequest;
+import com.evplatform.vao.ChargingResult;
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.Provider;
+import com.evplatform.vao.User;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the fixed and the adaptive check order of ChargingRequestProcessor on a rejection mix resembling
+ * a busy evening: most fast chargers are occupied, many drivers pick stations their car cannot use,
+ * and a few accounts are nearly empty. Accepted sessions are ended straight away so the mix stays stable.
+ * The console station display is detached, because it lists every station on each status change.
+ *
+ * Run with: java com.evplatform.benchmark.HandlerOrderingBenchmark [requests] [stations] [users]
+ */
+public class HandlerOrderingBenchmark {
+
+    public static void main(String[] args) {
+        int requestCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int stationCount = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int userCount = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+
+        ProviderService providerService = ProviderService.getInstance();
+        ChargingStationService stationService = ChargingStationService.getInstance();
+        UserService userService = UserService.getInstance();
+        ChargingRequestProcessor processor = ChargingRequestProcessor.getInstance();
+        ChargingStationDisplay display = ObserverManager.getInstance().getStationDisplay();
+        Random random = new Random(42);
+
+        int providerId = providerService.addProvider(new Provider(0, "Ordering Provider", "Ops", "ops@ordering.test", "", ""));
+        double[] powers = {11, 22, 50, 150, 350};
+        int[] stationIds = new int[stationCount];
+        for (int i = 0; i < stationCount; i++) {
+            double power = powers[random.nextInt(powers.length)];
+            // Fast chargers are the busy ones
+            boolean occupied = random.nextDouble() < (power >= 150 ? 0.8 : 0.3);
+            stationIds[i] = stationService.addChargingStation(new ChargingStation(0, "Ordering " + i, "Ordering Lane " + i, null,
+                    occupied ? ChargingStation.ChargingStationStatus.OCCUPIED : ChargingStation.ChargingStationStatus.AVAILABLE,
+                    providerId, 2, power));
+            stationService.getChargingStationById(stationIds[i]).removeObserver(display);
+        }
+        User.CarType[] carTypes = {User.CarType.COMPACT, User.CarType.SEDAN, User.CarType.SEDAN, User.CarType.SUV,
+                User.CarType.VAN, User.CarType.LUXURY};
+        int[] userIds = new int[userCount];
+        for (int i = 0; i < userCount; i++) {
+            double balance = random.nextDouble() < 0.1 ? 0.5 : 1e9;
+            userIds[i] = userService.addUser(new User(0, "Driver " + i, "driver" + i + "@ordering.test", balance,
+                    carTypes[random.nextInt(carTypes.length)]));
+        }
+        ChargingRequest[] requests = new ChargingRequest[requestCount];
+        for (int i = 0; i < requestCount; i++) {
+            requests[i] = new ChargingRequest(userIds[random.nextInt(userCount)], stationIds[random.nextInt(stationCount)], 1.0);
+        }
+
+        PrintStream console = System.out;
+        // The remaining station observers report every status change on stdout; silence them while measuring
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        run(processor, stationService, requests, null); // Warm-up
+        processor.resetHandlerStatistics();
+        double fixedNanos = run(processor, stationService, requests, null);
+        String fixedReport = report(processor.getHandlerStatistics());
+        processor.resetHandlerStatistics();
+        processor.setAdaptiveOrdering(true);
+        run(processor, stationService, requests, null); // Let the order settle
+        processor.resetHandlerStatistics();
+        Map<ChargingResult.RejectionReason, Integer> outcomes = new EnumMap<>(ChargingResult.RejectionReason.class);
+        double adaptiveNanos = run(processor, stationService, requests, outcomes);
+        String adaptiveReport = report(processor.getHandlerStatistics());
+        processor.setAdaptiveOrdering(false);
+        System.setOut(console);
+
+        System.out.println("Requests: " + requestCount + ", outcomes (adaptive run): " + outcomes);
+        System.out.println("Fixed order:\n" + fixedReport);
+        System.out.println("Adaptive order:\n" + adaptiveReport);
+        System.out.printf("%-10s %12s%n", "order", "ns/request");
+        System.out.printf("%-10s %12.1f%n", "fixed", fixedNanos);
+        System.out.printf("%-10s %12.1f%n", "adaptive", adaptiveNanos);
+    }
+
+    private static double run(ChargingRequestProcessor processor, ChargingStationService stationService,
+                              ChargingRequest[] requests, Map<ChargingResult.RejectionReason, Integer> outcomes) {
+        long begin = System.nanoTime();
+        for (ChargingRequest request : requests) {
+            ChargingResult result = processor.processChargingRequest(request);
+            if (result.isAccepted()) {
+                stationService.getChargingStationById(request.getStationId()).compareAndSetStatus(
+                        ChargingStation.ChargingStationStatus.OCCUPIED, ChargingStation.ChargingStationStatus.AVAILABLE);
+            } else if (outcomes != null) {
+                outcomes.merge(result.getRejectionReason(), 1, Integer::sum);
+            }
+        }
+        return (double) (System.nanoTime() - begin) / requests.length;
+    }
+
+    private static String report(Map<String, HandlerStatistics> statistics) {
+        StringBuilder report = new StringBuilder();
+        for (HandlerStatistics handler : statistics.values()) {
+            report.append(String.format("  %-30s passes %10d  rejects %10d  reject rate %5.2f  avg %6.1f ns%n",
+                    handler.getHandlerName(), handler.getPassCount(), handler.getRejectCount(),
+                    handler.getRejectRate(), handler.getAverageNanos()));
+        }
+        return report.toString();
+    }
+}
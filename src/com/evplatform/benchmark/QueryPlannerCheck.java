@@ -0,0 +1,165 @@
+package com.evplatform.benchmark;
+
+import com.evplatform.service.ChargingStationService;
+import com.evplatform.service.ProviderService;
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.Provider;
+import com.evplatform.vao.StationQuery;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Correctness check for the station query planner: random combinations of status, power range, region, provider,
+ * bounding box, sort and limit are run through queryChargingStations and compared with a filter of every station
+ * by StationQuery.matches. Stations are placed on longitude 180 and -180 among others, and every box touches or
+ * crosses the antimeridian, so boxes reaching either edge must find the stations on both; bounding-box-only
+ * queries are also compared with findInBoundingBox.
+ * Exits with status 1 if any plan disagrees with the filter or with the geo index.
+ *
+ * Run with: java com.evplatform.benchmark.QueryPlannerCheck [stations] [queries]
+ */
+public class QueryPlannerCheck {
+
+    private static final String[] REGIONS = {"Fiji", "Samoa", "Tonga", "Chukotka"};
+    private static final ChargingStation.ChargingStationStatus[] STATUSES = ChargingStation.ChargingStationStatus.values();
+
+    public static void main(String[] args) {
+        int stationCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        ProviderService providerService = ProviderService.getInstance();
+        ChargingStationService stationService = ChargingStationService.getInstance();
+        Random random = new Random(13);
+
+        PrintStream console = System.out;
+        // Station observers report every new station on stdout; silence them while loading
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        int[] providerIds = new int[3];
+        for (int i = 0; i < providerIds.length; i++) {
+            providerIds[i] = providerService.addProvider(new Provider(0, "Planner Provider " + i, "Ops",
+                    "ops" + i + "@planner.test", "", ""));
+        }
+        for (int i = 0; i < stationCount; i++) {
+            double latitude = random.nextDouble() * 20 - 10;
+            double longitude;
+            switch (i % 4) {
+                case 0:
+                    longitude = 180.0;
+                    break;
+                case 1:
+                    longitude = -180.0;
+                    break;
+                default:
+                    longitude = random.nextBoolean() ? 180.0 - random.nextDouble() * 5 : -180.0 + random.nextDouble() * 5;
+            }
+            stationService.addChargingStation(new ChargingStation(0, "Planner " + i,
+                    REGIONS[random.nextInt(REGIONS.length)] + " Lane " + i, latitude + "," + longitude,
+                    STATUSES[random.nextInt(STATUSES.length)], providerIds[random.nextInt(providerIds.length)],
+                    2, 11.0 + random.nextInt(20) * 10.0));
+        }
+        System.setOut(console);
+
+        List<ChargingStation> all = stationService.getAllChargingStations();
+        int failures = 0;
+        for (int q = 0; q < queries; q++) {
+            double[] box = randomBox(random);
+            StationQuery.Builder builder = StationQuery.builder().boundingBox(box[0], box[1], box[2], box[3]);
+            boolean boxOnly = true;
+            if (random.nextInt(3) == 0) {
+                builder.status(STATUSES[random.nextInt(STATUSES.length)]);
+                boxOnly = false;
+            }
+            if (random.nextInt(3) == 0) {
+                builder.minPower(11.0 + random.nextInt(20) * 10.0);
+                boxOnly = false;
+            }
+            if (random.nextInt(3) == 0) {
+                builder.region(REGIONS[random.nextInt(REGIONS.length)].toLowerCase());
+                boxOnly = false;
+            }
+            if (random.nextInt(3) == 0) {
+                builder.provider(providerIds[random.nextInt(providerIds.length)]);
+                boxOnly = false;
+            }
+            if (random.nextInt(4) == 0) {
+                builder.sortByName();
+            }
+            if (random.nextInt(4) == 0) {
+                builder.limit(1 + random.nextInt(50));
+            }
+            StationQuery query = builder.build();
+
+            List<ChargingStation> expected = new ArrayList<>();
+            for (ChargingStation station : all) {
+                if (query.matches(station)) {
+                    expected.add(station);
+                }
+            }
+            expected.sort(query.getSort());
+            if (expected.size() > query.getLimit()) {
+                expected = expected.subList(0, query.getLimit());
+            }
+
+            List<ChargingStation> planned = stationService.queryChargingStations(query);
+            if (!orderedIds(planned).equals(orderedIds(expected))) {
+                failures++;
+                System.out.println(query + ": expected " + expected.size() + " stations, planner returned " + planned.size());
+            }
+            if (boxOnly && query.getLimit() == Integer.MAX_VALUE) {
+                Set<Integer> indexed = ids(stationService.findInBoundingBox(box[0], box[1], box[2], box[3]));
+                if (!indexed.equals(ids(planned))) {
+                    failures++;
+                    System.out.println("Box " + box[1] + ".." + box[3] + ": geo index found " + indexed.size()
+                            + " stations, planner returned " + planned.size());
+                }
+            }
+        }
+
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures + " queries disagreed");
+            System.exit(1);
+        }
+        System.out.println("OK: " + queries + " planned queries matched the filter and the geo index");
+    }
+
+    // Boxes that end on 180, start on -180, cover both, cross the antimeridian, or stop short of it
+    private static double[] randomBox(Random random) {
+        double south = random.nextDouble() * 20 - 15;
+        double north = south + random.nextDouble() * 10;
+        double inner = random.nextDouble() * 5;
+        switch (random.nextInt(5)) {
+            case 0:
+                return new double[]{south, 180.0 - inner, north, 180.0};
+            case 1:
+                return new double[]{south, -180.0, north, -180.0 + inner};
+            case 2:
+                return new double[]{south, -180.0, north, 180.0};
+            case 3:
+                return new double[]{south, 180.0 - inner, north, -180.0 + random.nextDouble() * 5};
+            default:
+                return new double[]{south, 180.0 - inner - 1, north, 180.0 - inner};
+        }
+    }
+
+    private static List<Integer> orderedIds(List<ChargingStation> stations) {
+        List<Integer> ids = new ArrayList<>(stations.size());
+        for (ChargingStation station : stations) {
+            ids.add(station.getId());
+        }
+        return ids;
+    }
+
+    private static Set<Integer> ids(List<ChargingStation> stations) {
+        Set<Integer> ids = new TreeSet<>();
+        for (ChargingStation station : stations) {
+            ids.add(station.getId());
+        }
+        return ids;
+    }
+}
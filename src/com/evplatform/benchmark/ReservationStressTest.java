@@ -0,0 +1,224 @@
+package com.evplatform.benchmark;
+
+import com.evplatform.chainofresponsibility.ChargingRequestProcessor;
+import com.evplatform.service.ChargingStationService;
+import com.evplatform.service.ProviderService;
+import com.evplatform.service.UserService;
+import com.evplatform.vao.ChargingRequest;
+import com.evplatform.vao.ChargingResult;
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.Provider;
+import com.evplatform.vao.User;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Stress check for station reservations: many threads send charging requests for the same stations at once
+ * through ChargingRequestProcessor, and every station must end up with exactly one winner per round.
+ * A second turnover phase has every winner stop its session at once while the other threads race to start
+ * the next one on the same station; each new session must carry its own driver's email.
+ * A third phase queues drivers on the waitlist of an occupied station with timeouts racing the handoff;
+ * a driver whose wait timed out must not be charged or given the station.
+ * Exits with status 1 if any station was double-booked, left without a winner, showed the wrong driver,
+ * or went to a driver who had already given up.
+ *
+ * Run with: java com.evplatform.benchmark.ReservationStressTest [stations] [threads] [rounds] [turnovers] [handoffs]
+ */
+public class ReservationStressTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        int stationCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int turnovers = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+        int handoffs = args.length > 4 ? Integer.parseInt(args[4]) : 2_000;
+
+        ProviderService providerService = ProviderService.getInstance();
+        ChargingStationService stationService = ChargingStationService.getInstance();
+        UserService userService = UserService.getInstance();
+        ChargingRequestProcessor processor = ChargingRequestProcessor.getInstance();
+
+        int providerId = providerService.addProvider(new Provider(0, "Stress Provider", "Ops", "ops@stress.test", "", ""));
+        int[] stationIds = new int[stationCount];
+        for (int i = 0; i < stationCount; i++) {
+            stationIds[i] = stationService.addChargingStation(new ChargingStation(0, "Stress " + i, "Stress Lane " + i,
+                    null, ChargingStation.ChargingStationStatus.AVAILABLE, providerId, 2, 22.0));
+        }
+        // One user per thread, so only station reservations are contended
+        int[] userIds = new int[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            userIds[t] = userService.addUser(new User(0, "Driver " + t, "driver" + t + "@stress.test", 1e9, User.CarType.SEDAN));
+        }
+
+        System.out.println("Stations: " + stationCount + ", threads: " + threadCount + ", rounds: " + rounds);
+        PrintStream console = System.out;
+        int failures = 0;
+        long totalMillis = 0;
+
+        for (int round = 1; round <= rounds; round++) {
+            AtomicIntegerArray winners = new AtomicIntegerArray(stationCount);
+            int[] winnerThread = new int[stationCount];
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threadCount);
+
+            // The chain reports every decision on stdout; silence it while the threads race
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            for (int t = 0; t < threadCount; t++) {
+                int thread = t;
+                List<Integer> order = new ArrayList<>();
+                for (int i = 0; i < stationCount; i++) {
+                    order.add(i);
+                }
+                Collections.shuffle(order);
+                new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i : order) {
+                            if (processor.processChargingRequest(userIds[thread], stationIds[i], 1.0)) {
+                                winners.incrementAndGet(i);
+                                winnerThread[i] = thread;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }).start();
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            done.await();
+            totalMillis += (System.nanoTime() - begin) / 1_000_000;
+
+            for (int i = 0; i < stationCount; i++) {
+                ChargingStation station = stationService.getChargingStationById(stationIds[i]);
+                String expectedEmail = "driver" + winnerThread[i] + "@stress.test";
+                if (winners.get(i) != 1 || station.getStatus() != ChargingStation.ChargingStationStatus.OCCUPIED ||
+                        !expectedEmail.equals(station.getCurrentUserEmail())) {
+                    failures++;
+                    console.println("Round " + round + ": station " + stationIds[i] + " had " + winners.get(i) +
+                            " winners, status " + station.getStatus());
+                }
+                processor.stopCharging(stationIds[i]);
+            }
+            System.setOut(console);
+        }
+
+        System.out.println("Requests: " + (long) stationCount * threadCount * rounds +
+                ", race time: " + totalMillis + " ms, stations with != 1 winner: " + failures);
+
+        int wrongDriver = turnover(processor, stationService, userIds, stationIds, turnovers);
+        System.out.println("Turnover sessions per thread: " + turnovers + ", sessions showing another driver: " + wrongDriver);
+
+        int[] waitOutcomes = waitlistTimeouts(processor, stationService, userService, userIds, stationIds[0], handoffs);
+        System.out.println("Handoffs: " + handoffs + ", waits timed out: " + waitOutcomes[0] +
+                ", timed-out drivers charged or given the station: " + waitOutcomes[1]);
+
+        if (failures > 0 || wrongDriver > 0 || waitOutcomes[1] > 0) {
+            System.exit(1);
+        }
+        System.out.println("OK: exactly one winner per station in every round, every session showed its own driver," +
+                " and no driver who gave up waiting was charged");
+    }
+
+    /**
+     * Start and stop sessions on a few stations from all threads at once, so that stopping one session
+     * overlaps with starting the next. The winner checks the station's email before stopping it.
+     * @return Number of sessions whose station showed another driver's email, or none
+     */
+    private static int turnover(ChargingRequestProcessor processor, ChargingStationService stationService,
+                                int[] userIds, int[] stationIds, int turnovers) throws InterruptedException {
+        int contended = Math.min(stationIds.length, Math.max(1, userIds.length / 4));
+        AtomicInteger wrongDriver = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(userIds.length);
+        PrintStream console = System.out;
+
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        for (int t = 0; t < userIds.length; t++) {
+            int thread = t;
+            new Thread(() -> {
+                String email = "driver" + thread + "@stress.test";
+                try {
+                    start.await();
+                    for (int n = 0; n < turnovers; n++) {
+                        int stationId = stationIds[ThreadLocalRandom.current().nextInt(contended)];
+                        if (processor.processChargingRequest(userIds[thread], stationId, 1.0)) {
+                            if (!email.equals(stationService.getChargingStationById(stationId).getCurrentUserEmail())) {
+                                wrongDriver.incrementAndGet();
+                            }
+                            processor.stopCharging(stationId);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        System.setOut(console);
+        return wrongDriver.get();
+    }
+
+    /**
+     * Queue the other drivers behind the first one on a station, each waiting with a short timeout, then stop the
+     * session so the handoff races the timeouts. Every driver whose wait timed out must keep their balance and
+     * must not be on the station.
+     * @return Number of waits that timed out, and number of those drivers who were charged or given the station
+     */
+    private static int[] waitlistTimeouts(ChargingRequestProcessor processor, ChargingStationService stationService,
+                                          UserService userService, int[] userIds, int stationId, int handoffs) {
+        int timedOut = 0;
+        int violations = 0;
+        PrintStream console = System.out;
+
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        for (int n = 0; n < handoffs; n++) {
+            processor.processChargingRequest(userIds[0], stationId, 1.0);
+            List<CompletableFuture<ChargingResult>> waits = new ArrayList<>();
+            long[] balances = new long[userIds.length];
+            for (int t = 1; t < userIds.length; t++) {
+                balances[t] = userService.getUserById(userIds[t]).getBalanceCents();
+                waits.add(processor.joinWaitlist(new ChargingRequest(userIds[t], stationId, 1.0))
+                        .orTimeout(ThreadLocalRandom.current().nextInt(200), TimeUnit.MICROSECONDS));
+            }
+            processor.stopCharging(stationId);
+
+            ChargingStation station = stationService.getChargingStationById(stationId);
+            for (int t = 1; t < userIds.length; t++) {
+                try {
+                    waits.get(t - 1).join();
+                } catch (CompletionException e) {
+                    if (!(e.getCause() instanceof TimeoutException)) {
+                        throw e;
+                    }
+                    timedOut++;
+                    User user = userService.getUserById(userIds[t]);
+                    if (user.getBalanceCents() != balances[t] || user.getEmail().equals(station.getCurrentUserEmail())) {
+                        violations++;
+                    }
+                }
+            }
+            // Free the station for the next round; every remaining wait has completed by now
+            processor.stopCharging(stationId);
+        }
+        System.setOut(console);
+        return new int[] {timedOut, violations};
+    }
+}
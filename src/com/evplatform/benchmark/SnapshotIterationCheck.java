@@ -0,0 +1,94 @@
+package com.evplatform.benchmark;
+
+import com.evplatform.iterators.IteratorProvider;
+import com.evplatform.service.ChargingStationService;
+import com.evplatform.service.ProviderService;
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.Provider;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Correctness check for the all-stations sorted iterator under concurrent edits. Stations are renamed, added
+ * and deleted while an iterator is half way through the fleet; the iterator must keep returning the version
+ * it started on, so no station is returned twice or skipped and no edit made after it started shows up.
+ * Exits with status 1 if any station was repeated, skipped, out of name order or returned with a later name.
+ *
+ * Run with: java com.evplatform.benchmark.SnapshotIterationCheck [stations]
+ */
+public class SnapshotIterationCheck {
+
+    public static void main(String[] args) {
+        int stationCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+
+        ProviderService providerService = ProviderService.getInstance();
+        ChargingStationService stationService = ChargingStationService.getInstance();
+        IteratorProvider iteratorProvider = IteratorProvider.getInstance();
+
+        int providerId = providerService.addProvider(new Provider(0, "Snapshot Provider", "Ops", "ops@snapshot.test", "", ""));
+        List<Integer> stationIds = new ArrayList<>();
+        for (int i = 0; i < stationCount; i++) {
+            stationIds.add(stationService.addChargingStation(new ChargingStation(0, String.format("Station %06d", i),
+                    "Snapshot Lane " + i, null, ChargingStation.ChargingStationStatus.AVAILABLE, providerId, 2, 22.0)));
+        }
+
+        Set<Integer> ownIds = new HashSet<>(stationIds);
+        int failures = 0;
+        Iterator<ChargingStation> iterator = iteratorProvider.getAllStationsSortedIterator();
+        Set<Integer> seen = new HashSet<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < stationCount / 2; i++) {
+            ChargingStation station = iterator.next();
+            seen.add(station.getId());
+            names.add(station.getName());
+        }
+
+        // Rename every station already returned so it sorts after the rest, and drop and add one
+        for (int i = 0; i < stationCount / 2; i++) {
+            ChargingStation station = stationService.getChargingStationById(stationIds.get(i));
+            station.setName("Zulu " + station.getName());
+            stationService.updateChargingStation(station);
+        }
+        stationService.deleteChargingStation(stationIds.get(stationCount - 1));
+        stationService.addChargingStation(new ChargingStation(0, "Station 999999", "Snapshot Lane late", null,
+                ChargingStation.ChargingStationStatus.AVAILABLE, providerId, 2, 22.0));
+
+        while (iterator.hasNext()) {
+            ChargingStation station = iterator.next();
+            if (!ownIds.contains(station.getId())) {
+                continue; // Stations left over from other runs in the same JVM
+            }
+            if (!seen.add(station.getId())) {
+                failures++;
+                System.out.println("Station " + station.getId() + " returned twice, now as " + station.getName());
+            }
+            names.add(station.getName());
+        }
+
+        if (seen.size() != stationCount) {
+            failures++;
+            System.out.println("Expected " + stationCount + " stations, got " + seen.size());
+        }
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            if (name.startsWith("Zulu") || name.equals("Station 999999")) {
+                failures++;
+                System.out.println("Edit made after the iterator started is visible: " + name);
+            }
+            if (i > 0 && names.get(i - 1).compareTo(name) > 0) {
+                failures++;
+                System.out.println("Out of name order: " + names.get(i - 1) + " before " + name);
+            }
+        }
+
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures + " problems in the sorted iteration");
+            System.exit(1);
+        }
+        System.out.println("OK: " + stationCount + " stations returned once each, as they were when iteration started");
+    }
+}
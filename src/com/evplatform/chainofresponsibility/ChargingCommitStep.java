@@ -0,0 +1,69 @@
+package com.evplatform.chainofresponsibility;
+
+import com.evplatform.vao.ChargingResult;
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.User;
+
+/**
+ * The only step of a charging request that changes state. It runs after the handlers' eligibility checks
+ * have passed and starts the session atomically: the station is reserved, the funds are debited and the
+ * reservation becomes an occupied station, or nothing changes at all. A request that was eligible when it
+ * was checked can still fail here if another request took the station or the funds in the meantime.
+ */
+final class ChargingCommitStep {
+
+    private ChargingCommitStep() {
+    }
+
+    /**
+     * Start a charging session
+     * @param user The requesting user
+     * @param station The requested station
+     * @param costCents Estimated cost of the session in cents
+     * @return Why the session could not be started, or null if it was
+     */
+    static ChargingResult.RejectionReason commit(User user, ChargingStation station, long costCents) {
+        // Reserve atomically so that concurrent requests for the same station cannot both win
+        if (!station.tryReserve()) {
+            return ChargingResult.RejectionReason.STATION_UNAVAILABLE;
+        }
+        ChargingResult.RejectionReason reason = null;
+        boolean committed = false;
+        try {
+            reason = commitReserved(user, station, costCents);
+            committed = reason == null;
+        } finally {
+            // Give the station back if the session did not start, including when the debit throws
+            if (!committed) {
+                release(station);
+            }
+        }
+        return reason;
+    }
+
+    /**
+     * Start a charging session on a station the caller already holds RESERVED, e.g. for a waitlist handoff.
+     * On failure the caller keeps the reservation and decides what to do with it.
+     * @param user The requesting user
+     * @param station The reserved station
+     * @param costCents Estimated cost of the session in cents
+     * @return Why the session could not be started, or null if it was
+     */
+    static ChargingResult.RejectionReason commitReserved(User user, ChargingStation station, long costCents) {
+        if (!user.debit(costCents)) {
+            return ChargingResult.RejectionReason.INSUFFICIENT_FUNDS;
+        }
+        // Status and user change in one step, so a concurrent session end or handoff cannot mix them up
+        if (!station.compareAndSetStatus(ChargingStation.ChargingStationStatus.RESERVED,
+                ChargingStation.ChargingStationStatus.OCCUPIED, user.getEmail())) {
+            user.credit(costCents);
+            return ChargingResult.RejectionReason.STATION_UNAVAILABLE;
+        }
+        return null;
+    }
+
+    private static void release(ChargingStation station) {
+        station.compareAndSetStatus(ChargingStation.ChargingStationStatus.RESERVED,
+                ChargingStation.ChargingStationStatus.AVAILABLE);
+    }
+}
@@ -1,9 +1,29 @@
 package com.evplatform.chainofresponsibility;
 
+import com.evplatform.vao.ChargingResult;
 import com.evplatform.vao.User;
 import com.evplatform.vao.ChargingStation;
 
 public interface ChargingRequestHandler {
     void setNextHandler(ChargingRequestHandler next);
     boolean handleRequest(User user, ChargingStation station, double estimatedCost);
+
+    /**
+     * Evaluate only this handler's condition, without changing any state or printing anything
+     * @param user The requesting user
+     * @param station The requested charging station
+     * @param estimatedCost Estimated cost of the charging session
+     * @return Why the request fails this check, or null if it passes
+     */
+    ChargingResult.RejectionReason check(User user, ChargingStation station, double estimatedCost);
+
+    /**
+     * Tell the user why a request failed this handler's check, without evaluating the check again
+     * @param reason Rejection reason returned by check
+     * @param user The requesting user
+     * @param station The requested charging station
+     * @param estimatedCost Estimated cost of the charging session
+     */
+    void reportRejection(ChargingResult.RejectionReason reason, User user, ChargingStation station,
+                         double estimatedCost);
 }
\ No newline at end of file
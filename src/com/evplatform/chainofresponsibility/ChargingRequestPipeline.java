@@ -0,0 +1,134 @@
+package com.evplatform.chainofresponsibility;
+
+import com.evplatform.vao.ChargingRequest;
+import com.evplatform.vao.ChargingResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Asynchronous front end for ChargingRequestProcessor. Each request runs on its own virtual thread
+ * and is answered through a CompletableFuture, so callers never wait on the chain or on console output.
+ * A request blocked on a lock or on console output parks its virtual thread, not a carrier thread.
+ * At most capacity requests are queued or running at once; beyond that the backpressure policy applies.
+ */
+public class ChargingRequestPipeline {
+
+    /**
+     * What submit does when the pipeline is full
+     */
+    public enum BackpressurePolicy {
+        REJECT, // Complete the future exceptionally with RejectedExecutionException
+        WAIT    // Block the caller until a slot is free
+    }
+
+    private final ChargingRequestProcessor processor;
+    private final ExecutorService workers;
+    private final Semaphore slots; // One permit per request that may be queued or running
+    private final int capacity;
+    private final BackpressurePolicy policy;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param processor Processor that handles each request
+     * @param capacity Maximum number of requests queued or running at once
+     * @param policy What to do with a request when the pipeline is full
+     * @throws IllegalArgumentException if processor or policy is null, or capacity is not positive
+     */
+    public ChargingRequestPipeline(ChargingRequestProcessor processor, int capacity,
+                                   BackpressurePolicy policy) throws IllegalArgumentException {
+        if (processor == null || policy == null) {
+            throw new IllegalArgumentException("Processor and backpressure policy cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.processor = processor;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.slots = new Semaphore(capacity);
+
+        // The slots bound how many virtual threads exist at once; they never keep the application alive
+        this.workers = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Queue a charging request
+     * @param request The request to process
+     * @return Future completed with the result; completed exceptionally with RejectedExecutionException
+     *         if the pipeline is full under REJECT, or has been shut down
+     * @throws IllegalArgumentException if request is null
+     */
+    public CompletableFuture<ChargingResult> submit(ChargingRequest request) throws IllegalArgumentException {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+
+        CompletableFuture<ChargingResult> future = new CompletableFuture<>();
+        if (!acquireSlot(future)) {
+            return future;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    future.complete(processor.processChargingRequest(request));
+                } catch (Throwable e) {
+                    // Errors too, e.g. StackOverflowError, or the caller would wait on the future forever
+                    future.completeExceptionally(e);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shut down between acquiring the slot and handing over the request
+            slots.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private boolean acquireSlot(CompletableFuture<ChargingResult> future) {
+        if (policy == BackpressurePolicy.REJECT) {
+            if (!slots.tryAcquire()) {
+                future.completeExceptionally(new RejectedExecutionException("Charging request pipeline is full"));
+                return false;
+            }
+            return true;
+        }
+        try {
+            slots.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    /**
+     * Get the number of requests currently queued or running
+     * @return Requests in flight
+     */
+    public int getInFlightCount() {
+        return capacity - slots.availablePermits();
+    }
+
+    /**
+     * Get the maximum number of requests queued or running at once
+     * @return Capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Stop accepting requests; requests already queued are still processed
+     */
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -2,14 +2,45 @@ package com.evplatform.chainofresponsibility;
 
 import com.evplatform.service.UserService;
 import com.evplatform.service.ChargingStationService;
+import com.evplatform.vao.ChargingRequest;
+import com.evplatform.vao.ChargingResult;
+import com.evplatform.vao.Money;
 import com.evplatform.vao.User;
 import com.evplatform.vao.ChargingStation;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
 public class ChargingRequestProcessor {
-    private static ChargingRequestProcessor instance;
+    private static volatile ChargingRequestProcessor instance;
     private final ChargingRequestHandler chain;
+    private final ChargingRequestHandler availabilityCheck; // Skipped when the station is already held for the request
+    private final List<MeasuredCheck> configuredChecks; // The chain's handlers in wiring order
+    private volatile List<MeasuredCheck> checkOrder; // Order the silent check pass runs them in
+    private volatile boolean adaptiveOrdering;
     private final UserService userService;
     private final ChargingStationService stationService;
+    private volatile ChargingRequestPipeline pipeline;
+    private final StationWaitlist waitlist = new StationWaitlist();
+    private final IdempotencyCache idempotencyCache =
+            new IdempotencyCache(IDEMPOTENCY_CAPACITY, IDEMPOTENCY_TTL_MILLIS);
+
+    private static final int DEFAULT_PIPELINE_CAPACITY = 4096;
+    // Retries are answered from the cache for two minutes; at most this many keys are remembered
+    private static final int IDEMPOTENCY_CAPACITY = 1 << 18;
+    private static final long IDEMPOTENCY_TTL_MILLIS = 2 * 60 * 1000;
+    // One request in TIMING_SAMPLE_RATE has its checks timed, so timing does not dominate the cheap checks;
+    // one timed request in REORDER_SAMPLE_RATE re-evaluates the adaptive order
+    private static final int TIMING_SAMPLE_RATE = 64;
+    private static final int REORDER_SAMPLE_RATE = 64;
 
     private ChargingRequestProcessor() {
         // Set up the chain
@@ -17,12 +48,18 @@ public class ChargingRequestProcessor {
         UserBalanceHandler balanceHandler = new UserBalanceHandler();
         VehicleCompatibilityHandler compatibilityHandler = new VehicleCompatibilityHandler();
 
-        // Connect the handlers
-        availabilityHandler.setNextHandler(balanceHandler);
-        balanceHandler.setNextHandler(compatibilityHandler);
+        // Connect the handlers through their measured wrappers, so the interactive chain records statistics too
+        MeasuredCheck measuredAvailability = new MeasuredCheck(availabilityHandler);
+        MeasuredCheck measuredBalance = new MeasuredCheck(balanceHandler);
+        MeasuredCheck measuredCompatibility = new MeasuredCheck(compatibilityHandler);
+        measuredAvailability.setNextHandler(measuredBalance);
+        measuredBalance.setNextHandler(measuredCompatibility);
 
         // Set first handler as the start of the chain
-        this.chain = availabilityHandler;
+        this.chain = measuredAvailability;
+        this.availabilityCheck = availabilityHandler;
+        this.configuredChecks = List.of(measuredAvailability, measuredBalance, measuredCompatibility);
+        this.checkOrder = configuredChecks;
 
         // Get service instances
         this.userService = UserService.getInstance();
@@ -54,8 +91,442 @@ public class ChargingRequestProcessor {
             return false;
         }
 
-        // Process the request through the chain
-        return chain.handleRequest(user, station, estimatedCost);
+        if (!isValidCost(estimatedCost)) {
+            System.out.println("Invalid estimated cost: " + estimatedCost);
+            return false;
+        }
+
+        // Check eligibility through the chain; the handlers only read state
+        if (!chain.handleRequest(user, station, estimatedCost)) {
+            return false;
+        }
+        System.out.println("All checks passed. Starting charging session...");
+
+        // Commit: the only step that changes the station or the balance
+        ChargingResult.RejectionReason failure = ChargingCommitStep.commit(user, station, Money.toCents(estimatedCost));
+        if (failure == ChargingResult.RejectionReason.INSUFFICIENT_FUNDS) {
+            System.out.println("Insufficient funds. User balance: $" + user.getBalance() +
+                    ", Estimated cost: $" + estimatedCost);
+            return false;
+        }
+        if (failure != null) {
+            System.out.println("Charging station is no longer available. Current status: " + station.getStatus());
+            return false;
+        }
+
+        System.out.println("Charging started successfully for user " + user.getName() +
+                " at station " + station.getName() +
+                " (Cost: $" + estimatedCost + ")");
+        return true;
+    }
+
+    /**
+     * Check which of several stations a user could start charging at right now, without starting anything.
+     * Runs only the handlers' eligibility checks: no station is reserved, no funds are debited,
+     * no lock is taken and nothing is printed. Quotes are not recorded in the handler statistics, so they never
+     * change the adaptive check order. A station reported eligible can still be taken by someone else
+     * before the user sends the real request.
+     * @param userId ID of the user
+     * @param stationIds IDs of the stations to evaluate
+     * @param estimatedCost Estimated cost of the charging session
+     * @return One result per station, in the same order; accepted means the request would currently pass every check
+     * @throws IllegalArgumentException if stationIds is null or contains null
+     */
+    public List<ChargingResult> checkEligibility(int userId, List<Integer> stationIds, double estimatedCost) throws IllegalArgumentException {
+        if (stationIds == null) {
+            throw new IllegalArgumentException("Station ID list cannot be null");
+        }
+        for (Integer stationId : stationIds) {
+            if (stationId == null) {
+                throw new IllegalArgumentException("Station ID list cannot contain null");
+            }
+        }
+
+        User user = userService.getUserById(userId);
+        List<ChargingResult> results = new ArrayList<>(stationIds.size());
+        for (int stationId : stationIds) {
+            ChargingRequest request = new ChargingRequest(userId, stationId, estimatedCost);
+            ChargingResult.RejectionReason reason = checkRequest(request, user,
+                    stationService.getChargingStationById(stationId), false, false);
+            results.add(reason == null ? ChargingResult.accepted(request) : ChargingResult.rejected(request, reason));
+        }
+        return results;
+    }
+
+    /**
+     * Process one charging request without printing anything.
+     * A request whose idempotency key was seen in the last two minutes is not processed again: it gets the
+     * earlier request's result, waiting for it if that request is still being processed.
+     * @param request The request to process
+     * @return Whether the session was started, or why the request was rejected
+     * @throws IllegalArgumentException if request is null, or its idempotency key was used for a different request
+     * @throws IllegalStateException if the idempotency cache is full of requests that are still in progress
+     */
+    public ChargingResult processChargingRequest(ChargingRequest request)
+            throws IllegalArgumentException, IllegalStateException {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+        if (request.getIdempotencyKey() == null) {
+            return processOnce(request);
+        }
+
+        while (true) {
+            CompletableFuture<ChargingResult> result = new CompletableFuture<>();
+            CompletableFuture<ChargingResult> earlier = idempotencyCache.claim(request, result);
+            if (earlier == null) {
+                try {
+                    ChargingResult processed = processOnce(request);
+                    result.complete(processed);
+                    return processed;
+                } catch (RuntimeException e) {
+                    // Let a retry process the request again
+                    idempotencyCache.release(request, result);
+                    result.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            ChargingResult earlierResult = await(earlier);
+            if (earlierResult != null) {
+                return earlierResult;
+            }
+            // The earlier attempt failed and gave the key up; claim it again
+        }
+    }
+
+    private ChargingResult processOnce(ChargingRequest request) {
+        User user = userService.getUserById(request.getUserId());
+        ChargingStation station = stationService.getChargingStationById(request.getStationId());
+
+        ChargingResult.RejectionReason reason = checkRequest(request, user, station, false);
+        if (reason == null) {
+            reason = ChargingCommitStep.commit(user, station, Money.toCents(request.getEstimatedCost()));
+        }
+        return reason == null ? ChargingResult.accepted(request) : ChargingResult.rejected(request, reason);
+    }
+
+    /**
+     * Queue a charging request on the shared pipeline and return without waiting for it.
+     * The request is processed like {@link #processChargingRequest(ChargingRequest)} on its own virtual thread.
+     * @param request The request to process
+     * @return Future completed with the result, or exceptionally with RejectedExecutionException if the queue is full
+     * @throws IllegalArgumentException if request is null
+     */
+    public CompletableFuture<ChargingResult> processChargingRequestAsync(ChargingRequest request) throws IllegalArgumentException {
+        return getPipeline().submit(request);
+    }
+
+    /**
+     * Get the shared pipeline behind {@link #processChargingRequestAsync(ChargingRequest)}, creating it on first use
+     * with room for DEFAULT_PIPELINE_CAPACITY requests; a full pipeline rejects new requests
+     * @return The shared pipeline
+     */
+    public ChargingRequestPipeline getPipeline() {
+        if (pipeline == null) {
+            synchronized (this) {
+                if (pipeline == null) {
+                    pipeline = new ChargingRequestPipeline(this, DEFAULT_PIPELINE_CAPACITY,
+                            ChargingRequestPipeline.BackpressurePolicy.REJECT);
+                }
+            }
+        }
+        return pipeline;
+    }
+
+    /**
+     * Process a burst of charging requests in two phases, without printing anything.
+     * First every distinct user and station is looked up once and each request is run through the chain's checks.
+     * When several eligible requests target the same station, the one earliest in the list wins and the others
+     * are rejected with STATION_CONFLICT; a user with several winning requests must be able to pay for all of them,
+     * in list order. Then each winner is applied atomically: the station is reserved, the funds are debited and the
+     * station is occupied, or nothing changes. A winner can still be rejected in the second phase if a request from
+     * outside the batch took the station or the funds in between.
+     * Requests whose idempotency key was seen before are not processed again but answered with the earlier result,
+     * and so are later requests in the list that repeat a key.
+     * @param requests Requests to process
+     * @return One result per request, in the same order
+     * @throws IllegalArgumentException if requests is null or contains null,
+     *         or an idempotency key is used for two different requests
+     * @throws IllegalStateException if the idempotency cache is full of requests that are still in progress
+     */
+    public List<ChargingResult> processBatch(List<ChargingRequest> requests)
+            throws IllegalArgumentException, IllegalStateException {
+        if (requests == null) {
+            throw new IllegalArgumentException("Request list cannot be null");
+        }
+
+        // Map repeated keys within the batch to their first request, before claiming anything
+        int[] firstWithKey = new int[requests.size()];
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        for (int i = 0; i < firstWithKey.length; i++) {
+            ChargingRequest request = requests.get(i);
+            if (request == null) {
+                throw new IllegalArgumentException("Request list cannot contain null");
+            }
+            firstWithKey[i] = i;
+            if (request.getIdempotencyKey() != null) {
+                Integer first = firstIndexByKey.putIfAbsent(request.getIdempotencyKey(), i);
+                if (first != null) {
+                    if (!IdempotencyCache.sameRequest(requests.get(first), request)) {
+                        throw new IllegalArgumentException("Idempotency key " + request.getIdempotencyKey() +
+                                " was already used for a different request");
+                    }
+                    firstWithKey[i] = first;
+                }
+            }
+        }
+
+        // Claim the keys; requests seen before keep their earlier result, which is awaited only after
+        // this batch has completed its own claims, so two batches can never wait on each other
+        ChargingResult[] results = new ChargingResult[requests.size()];
+        List<Integer> claimedIndexes = new ArrayList<>();
+        List<CompletableFuture<ChargingResult>> claims = new ArrayList<>();
+        Map<Integer, CompletableFuture<ChargingResult>> earlierByIndex = new HashMap<>();
+        List<Integer> freshIndexes = new ArrayList<>();
+        try {
+            for (int i = 0; i < results.length; i++) {
+                ChargingRequest request = requests.get(i);
+                if (firstWithKey[i] != i) {
+                    continue;
+                }
+                if (request.getIdempotencyKey() != null) {
+                    CompletableFuture<ChargingResult> claim = new CompletableFuture<>();
+                    CompletableFuture<ChargingResult> earlier = idempotencyCache.claim(request, claim);
+                    if (earlier != null) {
+                        earlierByIndex.put(i, earlier);
+                        continue;
+                    }
+                    claimedIndexes.add(i);
+                    claims.add(claim);
+                }
+                freshIndexes.add(i);
+            }
+
+            List<ChargingRequest> fresh = new ArrayList<>(freshIndexes.size());
+            for (int i : freshIndexes) {
+                fresh.add(requests.get(i));
+            }
+            List<ChargingResult> freshResults = processFresh(fresh);
+            for (int j = 0; j < freshIndexes.size(); j++) {
+                results[freshIndexes.get(j)] = freshResults.get(j);
+            }
+        } catch (RuntimeException e) {
+            // Let retries process the claimed requests again
+            for (int j = 0; j < claims.size(); j++) {
+                idempotencyCache.release(requests.get(claimedIndexes.get(j)), claims.get(j));
+                claims.get(j).completeExceptionally(e);
+            }
+            throw e;
+        }
+
+        for (int j = 0; j < claims.size(); j++) {
+            claims.get(j).complete(results[claimedIndexes.get(j)]);
+        }
+        for (Map.Entry<Integer, CompletableFuture<ChargingResult>> earlier : earlierByIndex.entrySet()) {
+            ChargingResult earlierResult = await(earlier.getValue());
+            // The earlier attempt failed and gave the key up; process the request on its own
+            results[earlier.getKey()] = earlierResult != null ?
+                    earlierResult : processChargingRequest(requests.get(earlier.getKey()));
+        }
+        for (int i = 0; i < results.length; i++) {
+            results[i] = results[firstWithKey[i]];
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Wait for the result of an earlier request with the same idempotency key
+     * @return The earlier result, or null if processing the earlier request failed
+     */
+    private static ChargingResult await(CompletableFuture<ChargingResult> earlier) {
+        try {
+            return earlier.join();
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    private List<ChargingResult> processFresh(List<ChargingRequest> requests) {
+        // Resolve every distinct user and station once
+        Map<Integer, User> users = new HashMap<>();
+        Map<Integer, ChargingStation> stations = new HashMap<>();
+        for (ChargingRequest request : requests) {
+            if (!users.containsKey(request.getUserId())) {
+                users.put(request.getUserId(), userService.getUserById(request.getUserId()));
+            }
+            if (!stations.containsKey(request.getStationId())) {
+                stations.put(request.getStationId(), stationService.getChargingStationById(request.getStationId()));
+            }
+        }
+
+        // Check every request and pick at most one winner per station
+        ChargingResult[] results = new ChargingResult[requests.size()];
+        Map<Integer, Integer> winnerByStation = new HashMap<>();
+        Map<Integer, Long> remainingCentsByUser = new HashMap<>(); // Balance left after the user's earlier winners
+        for (int i = 0; i < results.length; i++) {
+            ChargingRequest request = requests.get(i);
+            ChargingResult.RejectionReason reason = checkRequest(request,
+                    users.get(request.getUserId()), stations.get(request.getStationId()), false);
+            if (reason == null && winnerByStation.containsKey(request.getStationId())) {
+                reason = ChargingResult.RejectionReason.STATION_CONFLICT;
+            }
+            if (reason == null) {
+                long costCents = Money.toCents(request.getEstimatedCost());
+                long remaining = remainingCentsByUser.getOrDefault(request.getUserId(),
+                        users.get(request.getUserId()).getBalanceCents());
+                if (remaining < costCents) {
+                    reason = ChargingResult.RejectionReason.INSUFFICIENT_FUNDS;
+                } else {
+                    remainingCentsByUser.put(request.getUserId(), remaining - costCents);
+                    winnerByStation.put(request.getStationId(), i);
+                }
+            }
+            if (reason != null) {
+                results[i] = ChargingResult.rejected(request, reason);
+            }
+        }
+
+        // Apply the winners in list order
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                ChargingRequest request = requests.get(i);
+                ChargingResult.RejectionReason reason = ChargingCommitStep.commit(users.get(request.getUserId()),
+                        stations.get(request.getStationId()), Money.toCents(request.getEstimatedCost()));
+                results[i] = reason == null ? ChargingResult.accepted(request) : ChargingResult.rejected(request, reason);
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Run the pure checks for a request
+     * @param stationHeld true if the station is already held for this request, or its availability does not matter
+     *                    yet, as when joining a waitlist; the availability check is then skipped
+     * @return Why the request fails, or null if it passes every check
+     */
+    private ChargingResult.RejectionReason checkRequest(ChargingRequest request, User user, ChargingStation station,
+                                                        boolean stationHeld) {
+        return checkRequest(request, user, station, stationHeld, true);
+    }
+
+    /**
+     * Check that a cost can be charged: a finite, non-negative amount whose cent value fits in a long
+     * @param estimatedCost Estimated cost of the charging session
+     * @return true if the cost can be charged
+     */
+    private static boolean isValidCost(double estimatedCost) {
+        if (!Double.isFinite(estimatedCost)) {
+            return false;
+        }
+        try {
+            return Money.toCents(estimatedCost) >= 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Run the pure checks for a request
+     * @param stationHeld true if the availability check should be skipped, as above
+     * @param measured false for checks that do not lead to a request, such as quotes; they are left out of the
+     *                 handler statistics and never reorder the checks
+     * @return Why the request fails, or null if it passes every check
+     */
+    private ChargingResult.RejectionReason checkRequest(ChargingRequest request, User user, ChargingStation station,
+                                                        boolean stationHeld, boolean measured) {
+        if (user == null) {
+            return ChargingResult.RejectionReason.USER_NOT_FOUND;
+        }
+        if (station == null) {
+            return ChargingResult.RejectionReason.STATION_NOT_FOUND;
+        }
+        double estimatedCost = request.getEstimatedCost();
+        if (!isValidCost(estimatedCost)) {
+            return ChargingResult.RejectionReason.INVALID_COST;
+        }
+        boolean timed = measured && ThreadLocalRandom.current().nextInt(TIMING_SAMPLE_RATE) == 0;
+        ChargingResult.RejectionReason reason = null;
+        for (MeasuredCheck check : checkOrder) {
+            if (stationHeld && check.handler == availabilityCheck) {
+                continue;
+            }
+            long start = timed ? System.nanoTime() : 0;
+            reason = check.handler.check(user, station, estimatedCost);
+            if (measured) {
+                check.statistics.record(reason == null, timed ? System.nanoTime() - start : -1);
+            }
+            if (reason != null) {
+                break;
+            }
+        }
+        if (timed && adaptiveOrdering && ThreadLocalRandom.current().nextInt(REORDER_SAMPLE_RATE) == 0) {
+            reorderChecks();
+        }
+        return reason;
+    }
+
+    /**
+     * Put the checks that reject most per nanosecond first. Checks that have not been timed yet keep the order
+     * until they have; the apply step is not a check and always runs after all of them.
+     */
+    private void reorderChecks() {
+        List<MeasuredCheck> current = checkOrder;
+        for (MeasuredCheck check : current) {
+            if (Double.isNaN(check.statistics.getAverageNanos())) {
+                return;
+            }
+        }
+        List<MeasuredCheck> reordered = new ArrayList<>(current);
+        reordered.sort(Comparator.comparingDouble((MeasuredCheck check) ->
+                check.statistics.getRejectRate() / Math.max(check.statistics.getAverageNanos(), 1.0)).reversed());
+        if (adaptiveOrdering && !reordered.equals(current)) {
+            checkOrder = List.copyOf(reordered);
+        }
+    }
+
+    /**
+     * Turn adaptive ordering of the silent check pass on or off. When on, the pure checks used by
+     * {@link #processChargingRequest(ChargingRequest)}, {@link #processBatch(List)} and the async pipeline are
+     * periodically reordered so that the cheapest, most often rejecting ones run first. This can change which
+     * rejection reason is reported for a request that fails several checks. Turning it off restores the wiring order.
+     * The interactive chain behind {@link #processChargingRequest(int, int, double)} keeps its wiring order,
+     * but its checks count towards the same statistics.
+     * @param enabled true to enable adaptive ordering
+     */
+    public void setAdaptiveOrdering(boolean enabled) {
+        adaptiveOrdering = enabled;
+        if (!enabled) {
+            checkOrder = configuredChecks;
+        }
+    }
+
+    /**
+     * Check whether adaptive ordering is enabled
+     * @return true if the silent check pass is being reordered
+     */
+    public boolean isAdaptiveOrdering() {
+        return adaptiveOrdering;
+    }
+
+    /**
+     * Get the statistics of each check, in the order the checks currently run
+     * @return Statistics keyed by handler name
+     */
+    public Map<String, HandlerStatistics> getHandlerStatistics() {
+        Map<String, HandlerStatistics> statistics = new LinkedHashMap<>();
+        for (MeasuredCheck check : checkOrder) {
+            statistics.put(check.statistics.getHandlerName(), check.statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Clear the counts and timings of every check
+     */
+    public void resetHandlerStatistics() {
+        for (MeasuredCheck check : configuredChecks) {
+            check.statistics.reset();
+        }
     }
 
     public boolean stopCharging(int stationId) {
@@ -66,17 +537,176 @@ public class ChargingRequestProcessor {
             return false;
         }
 
-        if (station.getStatus() != ChargingStation.ChargingStationStatus.OCCUPIED) {
+        // If drivers are waiting, keep the station reserved and hand it straight to the first eligible one,
+        // so it never shows as available and nobody has to race for it.
+        // Otherwise update station status to available. Either compare-and-set also clears the current user,
+        // and makes sure only one of several concurrent stop calls succeeds
+        boolean waiting = waitlist.hasWaiters(stationId);
+        if (!station.compareAndSetStatus(ChargingStation.ChargingStationStatus.OCCUPIED, waiting ?
+                ChargingStation.ChargingStationStatus.RESERVED : ChargingStation.ChargingStationStatus.AVAILABLE)) {
             System.out.println("Charging station is not occupied: " + stationId);
             return false;
         }
-
-        // Update station status to available
-        station.setStatus(ChargingStation.ChargingStationStatus.AVAILABLE);
-        station.setCurrentUserEmail(null);
-        stationService.updateChargingStation(station);
+        // The DAO indexes status changes as they happen, so there is nothing further to store
+        boolean handedOver = waiting ? handOff(station) : serveLateWaiters(station);
 
         System.out.println("Charging stopped successfully at station " + station.getName());
+        if (handedOver) {
+            System.out.println("Station handed over to the next driver on the waitlist: " + station.getCurrentUserEmail());
+        }
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Join the waitlist of a charging station, typically after a request was rejected because it is occupied.
+     * The request is checked right away, except for the station's availability; an ineligible request is
+     * answered at once and not queued. When the station is freed by {@link #stopCharging(int)}, it is reserved
+     * for the first eligible driver in the queue and their session is started, without the station ever
+     * becoming available to other requests. Drivers found ineligible at that point are dropped with a rejection.
+     * Cancelling or completing the returned future, e.g. with orTimeout, leaves the waitlist, unless the driver
+     * is already being handed the station; a driver who left is never charged or given the station.
+     * @param request The request to wait with
+     * @return Future completed when the session is started or the request is rejected
+     * @throws IllegalArgumentException if request is null
+     */
+    public CompletableFuture<ChargingResult> joinWaitlist(ChargingRequest request) throws IllegalArgumentException {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+        User user = userService.getUserById(request.getUserId());
+        ChargingStation station = stationService.getChargingStationById(request.getStationId());
+        ChargingResult.RejectionReason reason = checkRequest(request, user, station, true);
+        if (reason != null) {
+            return CompletableFuture.completedFuture(ChargingResult.rejected(request, reason));
+        }
+
+        CompletableFuture<ChargingResult> ticket = waitlist.join(request);
+        // The station may have been freed before the ticket was queued
+        serveLateWaiters(station);
+        return ticket;
+    }
+
+    /**
+     * Count the drivers waiting for a charging station
+     * @param stationId Station ID
+     * @return Number of waiting drivers
+     */
+    public int getWaitlistSize(int stationId) {
+        return waitlist.size(stationId);
+    }
+
+    /**
+     * Serve drivers who joined the waitlist after the station was last freed: if any is waiting and
+     * the station is available, reserve it and hand it over
+     * @return true if the station was handed to a waiting driver
+     */
+    private boolean serveLateWaiters(ChargingStation station) {
+        return waitlist.hasWaiters(station.getId()) && station.tryReserve() && handOff(station);
+    }
+
+    /**
+     * Give a station the caller holds RESERVED to the first eligible driver on its waitlist,
+     * or make it available again if there is none. If a check or the commit throws, the driver being served
+     * gets the exception and the station is made available again before it propagates.
+     * @return true if a waiting driver's session was started
+     */
+    private boolean handOff(ChargingStation station) {
+        boolean finished = false;
+        try {
+            while (true) {
+                StationWaitlist.Ticket ticket;
+                while ((ticket = waitlist.claimNext(station.getId())) != null) {
+                    ChargingResult.RejectionReason reason;
+                    try {
+                        reason = serve(ticket, station);
+                    } catch (RuntimeException e) {
+                        ticket.fail(e);
+                        throw e;
+                    }
+                    if (reason == null) {
+                        finished = true;
+                        return true;
+                    }
+                    if (reason == ChargingResult.RejectionReason.STATION_UNAVAILABLE) {
+                        // The reservation was overridden, e.g. by maintenance; the station is no longer ours to give
+                        finished = true;
+                        return false;
+                    }
+                }
+                // Nobody eligible is waiting: give the reservation back, then look again for drivers who joined meanwhile
+                station.compareAndSetStatus(ChargingStation.ChargingStationStatus.RESERVED,
+                        ChargingStation.ChargingStationStatus.AVAILABLE);
+                if (!waitlist.hasWaiters(station.getId()) || !station.tryReserve()) {
+                    finished = true;
+                    return false;
+                }
+            }
+        } finally {
+            if (!finished) {
+                // Never leave the station reserved for nobody
+                station.compareAndSetStatus(ChargingStation.ChargingStationStatus.RESERVED,
+                        ChargingStation.ChargingStationStatus.AVAILABLE);
+            }
+        }
+    }
+
+    /**
+     * Check a claimed waiter's request and start their session on the reserved station, then complete the ticket
+     * @return Why the session could not be started, or null if it was
+     */
+    private ChargingResult.RejectionReason serve(StationWaitlist.Ticket ticket, ChargingStation station) {
+        ChargingRequest request = ticket.getRequest();
+        User user = userService.getUserById(request.getUserId());
+        ChargingResult.RejectionReason reason = checkRequest(request, user, station, true);
+        if (reason == null) {
+            reason = ChargingCommitStep.commitReserved(user, station, Money.toCents(request.getEstimatedCost()));
+        }
+        ticket.resolve(reason == null ? ChargingResult.accepted(request) : ChargingResult.rejected(request, reason));
+        return reason;
+    }
+
+    /**
+     * A handler's pure check together with its statistics. It also stands in for the handler as a link of the
+     * interactive chain: it evaluates the handler's check once, records the verdict, and then has the handler
+     * report a rejection or forwards the request to its own next link.
+     */
+    private static final class MeasuredCheck implements ChargingRequestHandler {
+        final ChargingRequestHandler handler;
+        final HandlerStatistics statistics;
+        private ChargingRequestHandler next;
+
+        MeasuredCheck(ChargingRequestHandler handler) {
+            this.handler = handler;
+            this.statistics = new HandlerStatistics(handler.getClass().getSimpleName());
+        }
+
+        @Override
+        public void setNextHandler(ChargingRequestHandler next) {
+            this.next = next;
+        }
+
+        @Override
+        public boolean handleRequest(User user, ChargingStation station, double estimatedCost) {
+            boolean timed = ThreadLocalRandom.current().nextInt(TIMING_SAMPLE_RATE) == 0;
+            long start = timed ? System.nanoTime() : 0;
+            ChargingResult.RejectionReason reason = handler.check(user, station, estimatedCost);
+            statistics.record(reason == null, timed ? System.nanoTime() - start : -1);
+            if (reason != null) {
+                handler.reportRejection(reason, user, station, estimatedCost);
+                return false;
+            }
+            return next != null ? next.handleRequest(user, station, estimatedCost) : true;
+        }
+
+        @Override
+        public ChargingResult.RejectionReason check(User user, ChargingStation station, double estimatedCost) {
+            return handler.check(user, station, estimatedCost);
+        }
+
+        @Override
+        public void reportRejection(ChargingResult.RejectionReason reason, User user, ChargingStation station,
+                                    double estimatedCost) {
+            handler.reportRejection(reason, user, station, estimatedCost);
+        }
+    }
+}
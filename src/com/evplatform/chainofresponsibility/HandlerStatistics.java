@@ -0,0 +1,96 @@
+package com.evplatform.chainofresponsibility;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pass and reject counts and sampled timings of one handler's check.
+ * Counters are striped, so recording from many threads at once does not contend.
+ */
+public class HandlerStatistics {
+    private final String handlerName;
+    private final LongAdder passes = new LongAdder();
+    private final LongAdder rejects = new LongAdder();
+    private final LongAdder timedChecks = new LongAdder();
+    private final LongAdder timedNanos = new LongAdder();
+
+    HandlerStatistics(String handlerName) {
+        this.handlerName = handlerName;
+    }
+
+    /**
+     * Record the outcome of one check
+     * @param passed Whether the request passed the check
+     * @param nanos Time the check took, or a negative value if it was not timed
+     */
+    void record(boolean passed, long nanos) {
+        if (passed) {
+            passes.increment();
+        } else {
+            rejects.increment();
+        }
+        if (nanos >= 0) {
+            timedChecks.increment();
+            timedNanos.add(nanos);
+        }
+    }
+
+    void reset() {
+        passes.reset();
+        rejects.reset();
+        timedChecks.reset();
+        timedNanos.reset();
+    }
+
+    /**
+     * Get the name of the handler these statistics belong to
+     * @return Handler class name
+     */
+    public String getHandlerName() {
+        return handlerName;
+    }
+
+    /**
+     * Get the number of requests that passed the check
+     * @return Pass count
+     */
+    public long getPassCount() {
+        return passes.sum();
+    }
+
+    /**
+     * Get the number of requests the check rejected
+     * @return Reject count
+     */
+    public long getRejectCount() {
+        return rejects.sum();
+    }
+
+    /**
+     * Get the share of checked requests that were rejected
+     * @return Rejection rate between 0 and 1, or 0 if nothing was checked yet
+     */
+    public double getRejectRate() {
+        long passed = passes.sum();
+        long rejected = rejects.sum();
+        return passed + rejected == 0 ? 0 : (double) rejected / (passed + rejected);
+    }
+
+    /**
+     * Get the average time of the sampled checks
+     * @return Average nanoseconds per check, or NaN if no check was timed yet
+     */
+    public double getAverageNanos() {
+        long timed = timedChecks.sum();
+        return timed == 0 ? Double.NaN : (double) timedNanos.sum() / timed;
+    }
+
+    @Override
+    public String toString() {
+        return "HandlerStatistics{" +
+                "handler=" + handlerName +
+                ", passes=" + getPassCount() +
+                ", rejects=" + getRejectCount() +
+                ", averageNanos=" + String.format("%.1f", getAverageNanos()) +
+                '}';
+    }
+}
@@ -0,0 +1,199 @@
+package com.evplatform.chainofresponsibility;
+
+import com.evplatform.vao.ChargingRequest;
+import com.evplatform.vao.ChargingResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers the result of every charging request that carried an idempotency key, so that retries
+ * are answered with the original result instead of being processed again.
+ * Entries expire a fixed time after they were created and the cache never holds more than its capacity;
+ * because every entry lives equally long, insertion order is also expiry order, and the oldest entries
+ * are evicted from the head of a FIFO queue. An entry whose request is still in progress is never evicted,
+ * since a retry arriving after that would process the request a second time; a claim that would need to
+ * evict one is refused instead. Released and replaced entries are retired, and swept out of the queue once
+ * they are as many as the live entries. Lookups, inserts and evictions are all lock-free.
+ */
+public class IdempotencyCache {
+    // Retired entries tolerated in the queue before a sweep, however small the cache
+    private static final int MIN_RETIRED_BEFORE_SWEEP = 64;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger(); // Entries currently in the map
+    private final AtomicInteger retired = new AtomicInteger(); // Entries left in the queue since the last sweep
+    private final int capacity;
+    private final long ttlNanos;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param capacity Maximum number of remembered requests
+     * @param ttlMillis How long a result is remembered, in milliseconds
+     * @throws IllegalArgumentException if capacity or ttlMillis is not positive
+     */
+    public IdempotencyCache(int capacity, long ttlMillis) throws IllegalArgumentException {
+        if (capacity <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Capacity and time to live must be positive");
+        }
+        this.capacity = capacity;
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    /**
+     * Claim a request's idempotency key for a result that the caller is about to compute.
+     * If the key is already known, the earlier result is returned instead; it may still be in progress.
+     * @param request Request carrying an idempotency key
+     * @param result Future the caller will complete with the result of processing the request
+     * @return The earlier request's result, or null if the caller now owns the key and must process the request
+     * @throws IllegalArgumentException if the request has no idempotency key,
+     *         or the key was already used for a different request
+     * @throws IllegalStateException if the cache is full of requests that are still in progress
+     */
+    public CompletableFuture<ChargingResult> claim(ChargingRequest request, CompletableFuture<ChargingResult> result)
+            throws IllegalArgumentException, IllegalStateException {
+        String key = request.getIdempotencyKey();
+        if (key == null) {
+            throw new IllegalArgumentException("Request has no idempotency key");
+        }
+
+        long now = System.nanoTime();
+        Entry entry = new Entry(key, request, result, now + ttlNanos);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                size.incrementAndGet();
+                break;
+            }
+            // An entry still in progress is live however old it is, so the request cannot run twice
+            if (!existing.isExpired(now) || !existing.result.isDone()) {
+                if (!sameRequest(existing.request, request)) {
+                    throw new IllegalArgumentException("Idempotency key " + key + " was already used for a different request");
+                }
+                return existing.result;
+            }
+            // The earlier entry expired but is not evicted yet: take its place
+            if (entries.replace(key, existing, entry)) {
+                retire(existing);
+                break;
+            }
+        }
+        if (!evict(now)) {
+            if (entries.remove(key, entry)) {
+                size.decrementAndGet();
+            }
+            throw new IllegalStateException("Idempotency cache is full: all " + capacity +
+                    " remembered requests are still in progress");
+        }
+        insertionOrder.offer(entry);
+        return null;
+    }
+
+    /**
+     * Forget a claimed key, so that the request can be processed again; used when processing failed
+     * @param request Request whose key was claimed
+     * @param result The future passed to {@link #claim(ChargingRequest, CompletableFuture)}
+     */
+    public void release(ChargingRequest request, CompletableFuture<ChargingResult> result) {
+        Entry entry = entries.get(request.getIdempotencyKey());
+        if (entry != null && entry.result == result && entries.remove(entry.key, entry)) {
+            size.decrementAndGet();
+            retire(entry);
+        }
+    }
+
+    /**
+     * Get the number of remembered requests, including expired ones not evicted yet
+     * @return Number of entries
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Drop expired entries from the head of the queue, then the oldest finished entries while over capacity
+     * @return false if the cache is over capacity and every remaining entry is still in progress
+     */
+    private boolean evict(long now) {
+        while (true) {
+            Entry oldest = insertionOrder.peek();
+            if (oldest == null) {
+                return size.get() <= capacity;
+            }
+            if (oldest.retired) {
+                insertionOrder.remove(oldest);
+                continue;
+            }
+            if (!oldest.result.isDone() || (size.get() <= capacity && !oldest.isExpired(now))) {
+                break;
+            }
+            unlink(oldest);
+        }
+        // Over capacity behind an in-progress head: the in-progress entries are few, so skip past them
+        while (size.get() > capacity) {
+            Entry victim = null;
+            for (Entry candidate : insertionOrder) {
+                if (!candidate.retired && candidate.result.isDone()) {
+                    victim = candidate;
+                    break;
+                }
+            }
+            if (victim == null) {
+                return false;
+            }
+            unlink(victim);
+        }
+        return true;
+    }
+
+    private void unlink(Entry entry) {
+        // Another thread may be evicting the same entry; only the one that unlinks it removes it from the map
+        if (insertionOrder.remove(entry) && entries.remove(entry.key, entry)) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Mark an entry that left the map by release or replacement, and sweep such entries out of the queue
+     * once there are as many of them as live entries, so the queue stays proportional to the cache
+     */
+    private void retire(Entry entry) {
+        entry.retired = true;
+        if (retired.incrementAndGet() > Math.max(MIN_RETIRED_BEFORE_SWEEP, size.get())) {
+            retired.set(0);
+            insertionOrder.removeIf(queued -> queued.retired);
+        }
+    }
+
+    static boolean sameRequest(ChargingRequest first, ChargingRequest second) {
+        return first.getUserId() == second.getUserId() &&
+                first.getStationId() == second.getStationId() &&
+                Double.compare(first.getEstimatedCost(), second.getEstimatedCost()) == 0;
+    }
+
+    /**
+     * A remembered request and its result
+     */
+    private static final class Entry {
+        final String key;
+        final ChargingRequest request;
+        final CompletableFuture<ChargingResult> result;
+        final long expiresAtNanos;
+        volatile boolean retired; // No longer in the map; left in the queue only until swept
+
+        Entry(String key, ChargingRequest request, CompletableFuture<ChargingResult> result, long expiresAtNanos) {
+            this.key = key;
+            this.request = request;
+            this.result = result;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
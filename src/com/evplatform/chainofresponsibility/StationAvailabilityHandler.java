@@ -1,5 +1,6 @@
 package com.evplatform.chainofresponsibility;
 
+import com.evplatform.vao.ChargingResult;
 import com.evplatform.vao.ChargingStation;
 import com.evplatform.vao.User;
 
@@ -13,16 +14,31 @@ public class StationAvailabilityHandler implements ChargingRequestHandler {
 
     @Override
     public boolean handleRequest(User user, ChargingStation station, double estimatedCost) {
-        if (station == null) {
-            System.out.println("Charging station not found");
+        ChargingResult.RejectionReason reason = check(user, station, estimatedCost);
+        if (reason != null) {
+            reportRejection(reason, user, station, estimatedCost);
             return false;
         }
 
-        if (station.getStatus() != ChargingStation.ChargingStationStatus.AVAILABLE) {
+        return next != null ? next.handleRequest(user, station, estimatedCost) : true;
+    }
+
+    @Override
+    public void reportRejection(ChargingResult.RejectionReason reason, User user, ChargingStation station,
+                                double estimatedCost) {
+        if (reason == ChargingResult.RejectionReason.STATION_NOT_FOUND) {
+            System.out.println("Charging station not found");
+        } else {
             System.out.println("Charging station is not available. Current status: " + station.getStatus());
-            return false;
         }
+    }
 
-        return next != null ? next.handleRequest(user, station, estimatedCost) : true;
+    @Override
+    public ChargingResult.RejectionReason check(User user, ChargingStation station, double estimatedCost) {
+        if (station == null) {
+            return ChargingResult.RejectionReason.STATION_NOT_FOUND;
+        }
+        return station.getStatus() == ChargingStation.ChargingStationStatus.AVAILABLE ?
+                null : ChargingResult.RejectionReason.STATION_UNAVAILABLE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package com.evplatform.chainofresponsibility;
+
+import com.evplatform.vao.ChargingRequest;
+import com.evplatform.vao.ChargingResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * First-come, first-served queues of drivers waiting for occupied charging stations, one lock-free queue per station.
+ * Each waiting driver holds a ticket, a future completed when the driver is given the station or dropped
+ * from the queue. Cancelling or completing the ticket from outside, e.g. through orTimeout, leaves the queue.
+ * Whoever frees a station claims tickets from the head of its queue one at a time, and a ticket can be claimed
+ * or left, never both: once claimed, only the handoff completes it.
+ */
+public class StationWaitlist {
+    private final ConcurrentHashMap<Integer, ConcurrentLinkedQueue<Ticket>> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Put a request at the back of its station's queue
+     * @param request Request to wait with
+     * @return Ticket completed when the request is handed the station or dropped
+     */
+    CompletableFuture<ChargingResult> join(ChargingRequest request) {
+        ConcurrentLinkedQueue<Ticket> queue = queues.computeIfAbsent(request.getStationId(),
+                stationId -> new ConcurrentLinkedQueue<>());
+        Ticket ticket = new Ticket(request, queue);
+        queue.offer(ticket);
+        return ticket;
+    }
+
+    /**
+     * Take the first ticket of a station's queue that has not been cancelled, and claim it so it can no longer be
+     * @param stationId Station ID
+     * @return The claimed ticket, or null if nobody is waiting
+     */
+    Ticket claimNext(int stationId) {
+        ConcurrentLinkedQueue<Ticket> queue = queues.get(stationId);
+        if (queue == null) {
+            return null;
+        }
+        Ticket ticket;
+        while ((ticket = queue.poll()) != null) {
+            if (ticket.claim()) {
+                return ticket;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check whether any driver may be waiting for a station
+     * @param stationId Station ID
+     * @return true if the station's queue is not empty; it may hold only cancelled tickets
+     */
+    boolean hasWaiters(int stationId) {
+        ConcurrentLinkedQueue<Ticket> queue = queues.get(stationId);
+        return queue != null && !queue.isEmpty();
+    }
+
+    /**
+     * Count the drivers waiting for a station
+     * @param stationId Station ID
+     * @return Number of tickets in the queue that are still waiting
+     */
+    public int size(int stationId) {
+        ConcurrentLinkedQueue<Ticket> queue = queues.get(stationId);
+        if (queue == null) {
+            return 0;
+        }
+        int waiting = 0;
+        for (Ticket ticket : queue) {
+            if (ticket.isWaiting()) {
+                waiting++;
+            }
+        }
+        return waiting;
+    }
+
+    /**
+     * A waiting driver's place in a queue
+     */
+    static final class Ticket extends CompletableFuture<ChargingResult> {
+        private static final int WAITING = 0;
+        private static final int CLAIMED = 1;
+        private static final int CANCELLED = 2;
+
+        private final ChargingRequest request;
+        private final ConcurrentLinkedQueue<Ticket> queue;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Ticket(ChargingRequest request, ConcurrentLinkedQueue<Ticket> queue) {
+            this.request = request;
+            this.queue = queue;
+        }
+
+        ChargingRequest getRequest() {
+            return request;
+        }
+
+        boolean claim() {
+            return !isDone() && state.compareAndSet(WAITING, CLAIMED);
+        }
+
+        boolean isWaiting() {
+            return state.get() == WAITING;
+        }
+
+        /**
+         * Complete a claimed ticket with the outcome of its handoff
+         * @param result Accepted or rejected result
+         */
+        void resolve(ChargingResult result) {
+            super.complete(result);
+        }
+
+        /**
+         * Complete a claimed ticket whose handoff failed with an exception
+         * @param failure Exception thrown by a check or the commit
+         */
+        void fail(Throwable failure) {
+            super.completeExceptionally(failure);
+        }
+
+        /**
+         * Leave the queue; fails once the ticket has been claimed for a handoff
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return leave() && super.cancel(mayInterruptIfRunning);
+        }
+
+        /**
+         * Leave the queue with a value supplied by the waiter, e.g. through completeOnTimeout;
+         * fails once the ticket has been claimed for a handoff
+         */
+        @Override
+        public boolean complete(ChargingResult value) {
+            return leave() && super.complete(value);
+        }
+
+        /**
+         * Leave the queue with an exception supplied by the waiter, e.g. through orTimeout;
+         * fails once the ticket has been claimed for a handoff
+         */
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            return leave() && super.completeExceptionally(ex);
+        }
+
+        private boolean leave() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            queue.remove(this);
+            return true;
+        }
+    }
+}
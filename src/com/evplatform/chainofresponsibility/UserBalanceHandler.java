@@ -1,6 +1,8 @@
 package com.evplatform.chainofresponsibility;
 
+import com.evplatform.vao.ChargingResult;
 import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.Money;
 import com.evplatform.vao.User;
 
 public class UserBalanceHandler implements ChargingRequestHandler {
@@ -13,12 +15,26 @@ public class UserBalanceHandler implements ChargingRequestHandler {
 
     @Override
     public boolean handleRequest(User user, ChargingStation station, double estimatedCost) {
-        if (user.getBalance() < estimatedCost) {
-            System.out.println("Insufficient funds. User balance: $" + user.getBalance() +
-                    ", Estimated cost: $" + estimatedCost);
+        // Early rejection only; the debit in the commit step is what guarantees the funds
+        ChargingResult.RejectionReason reason = check(user, station, estimatedCost);
+        if (reason != null) {
+            reportRejection(reason, user, station, estimatedCost);
             return false;
         }
 
         return next != null ? next.handleRequest(user, station, estimatedCost) : true;
     }
+
+    @Override
+    public void reportRejection(ChargingResult.RejectionReason reason, User user, ChargingStation station,
+                                double estimatedCost) {
+        System.out.println("Insufficient funds. User balance: $" + user.getBalance() +
+                ", Estimated cost: $" + estimatedCost);
+    }
+
+    @Override
+    public ChargingResult.RejectionReason check(User user, ChargingStation station, double estimatedCost) {
+        return user.getBalanceCents() < Money.toCents(estimatedCost) ?
+                ChargingResult.RejectionReason.INSUFFICIENT_FUNDS : null;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,34 @@
 package com.evplatform.dao;
 
+import com.evplatform.dao.index.CompatibilityStationIndex;
+import com.evplatform.dao.index.GeoGridStationIndex;
+import com.evplatform.dao.index.KeyedStationIndex;
+import com.evplatform.dao.index.LocationTrigramIndex;
+import com.evplatform.dao.index.NameOrderedStationIndex;
+import com.evplatform.dao.index.PowerRangeStationIndex;
+import com.evplatform.dao.index.StationIndex;
+import com.evplatform.dao.index.StatusStationIndex;
 import com.evplatform.dao.interfaces.ChargingStationDAOInterface;
+import com.evplatform.observers.ChargingStationObserver;
 import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.StationCluster;
+import com.evplatform.vao.StationQuery;
+import com.evplatform.vao.StationSnapshot;
+import com.evplatform.vao.User;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Implementation of ChargingStationDAOInterface using in-memory List collection.
+ * Implementation of ChargingStationDAOInterface using a concurrent in-memory table indexed by station ID.
  * Uses Singleton pattern to ensure only one instance exists.
  */
 public class ChargingStationDAO implements ChargingStationDAOInterface {
@@ -18,13 +36,61 @@ public class ChargingStationDAO implements ChargingStationDAOInterface {
     // Singleton instance with volatile for thread safety
     private static volatile ChargingStationDAO instance;
 
-    // Thread-safe in-memory storage for charging stations
-    private final List<ChargingStation> stations = Collections.synchronizedList(new ArrayList<>());
-    private int nextId = 1;
+    // Number of lock stripes used to serialize writers of the same station; must be a power of two
+    private static final int LOCK_STRIPES = 64;
+
+    // A status or provider bucket holding at most 1/QUERY_SELECTIVE_FRACTION of all stations drives a query
+    // ahead of the spatial, region and power indexes, whose result sizes are not known up front
+    private static final int QUERY_SELECTIVE_FRACTION = 16;
+
+    // Lock-free snapshot reads to try before locking every stripe to read them
+    private static final int SNAPSHOT_OPTIMISTIC_ATTEMPTS = 8;
+
+    // Primary-key index: lock-free reads, CAS writes and atomic ID allocation.
+    // IDs are handed out in increasing order, which keeps ID order equal to insertion order for getAll().
+    private final ConcurrentIdTable<ChargingStation> stations = new ConcurrentIdTable<>();
+    private final Stripe[] stripes = new Stripe[LOCK_STRIPES];
+
+    // Secondary indexes, kept in sync by add, update and delete
+    private final KeyedStationIndex<Integer> providerIndex = new KeyedStationIndex<>(ChargingStation::getProviderId);
+    private final StatusStationIndex statusIndex = new StatusStationIndex();
+    private final GeoGridStationIndex geoIndex = new GeoGridStationIndex();
+    private final LocationTrigramIndex locationIndex = new LocationTrigramIndex();
+    private final NameOrderedStationIndex nameIndex = new NameOrderedStationIndex();
+    private final PowerRangeStationIndex powerIndex = new PowerRangeStationIndex();
+    private final CompatibilityStationIndex compatibilityIndex = new CompatibilityStationIndex();
+    private final List<StationIndex> indexes =
+            List.of(providerIndex, statusIndex, geoIndex, locationIndex, nameIndex, powerIndex, compatibilityIndex);
+
+    // Snapshot taken by the last call to snapshot(), returned again while no stripe has changed since
+    private volatile StationSnapshot lastSnapshot;
+
+    // Status changes go straight through ChargingStation.setStatus, so the status index and the stripe's
+    // snapshot view listen for them, reservations included
+    private final ChargingStationObserver statusListener = new ChargingStationObserver() {
+        @Override
+        public void update(ChargingStation station, ChargingStation.ChargingStationStatus oldStatus) {
+            Stripe stripe = stripeFor(station.getId());
+            synchronized (stripe) {
+                if (stations.get(station.getId()) == station) {
+                    statusIndex.index(station);
+                    stripe.publishStatus(station);
+                }
+            }
+        }
+
+        @Override
+        public boolean observesReservations() {
+            return true;
+        }
+    };
 
     // Private constructor for Singleton pattern
     public ChargingStationDAO() {
         // Private constructor prevents instantiation from outside
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
     }
 
     /**
@@ -44,64 +110,251 @@ public class ChargingStationDAO implements ChargingStationDAOInterface {
 
     @Override
     public int add(ChargingStation station) {
-        synchronized (stations) {
-            station.setId(nextId++);
-            stations.add(station);
-            return station.getId();
+        int id = stations.allocateId();
+        station.setId(id);
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            stations.insert(id, station);
+            indexes.forEach(index -> index.index(station));
+            station.addObserver(statusListener);
+            stripe.publish(station);
         }
+        return id;
     }
 
     @Override
     public ChargingStation getById(int id) {
-        return findById(id).orElse(null);
+        return stations.get(id);
     }
 
     @Override
     public List<ChargingStation> getAll() {
-        synchronized (stations) {
-            return new ArrayList<>(stations); // Return a copy to prevent ConcurrentModificationException
-        }
+        return stations.toList(); // Return a copy to prevent ConcurrentModificationException
     }
 
     @Override
-    public boolean update(ChargingStation station) {
-        synchronized (stations) {
-            Optional<ChargingStation> existingStation = findById(station.getId());
+    public int count() {
+        return stations.size();
+    }
 
-            if (existingStation.isPresent()) {
-                int index = stations.indexOf(existingStation.get());
-                stations.set(index, station);
-                return true;
+    @Override
+    public List<ChargingStation> getPage(int afterId, int limit) {
+        return stations.page(afterId, limit);
+    }
+
+    @Override
+    public Stream<ChargingStation> stream() {
+        return StreamSupport.stream(stations.spliterator(), false);
+    }
+
+    @Override
+    public boolean update(ChargingStation station) {
+        Stripe stripe = stripeFor(station.getId());
+        synchronized (stripe) {
+            ChargingStation previous = stations.replace(station.getId(), station);
+            if (previous == null) {
+                return false;
+            }
+            ChargingStation indexed = stripe.view.get(station.getId());
+            if (previous == station && indexed != null) {
+                // Same object edited in place: only the indexes whose keys moved need touching
+                for (StationIndex index : indexes) {
+                    if (index.keyChanged(indexed, station)) {
+                        index.index(station);
+                    }
+                }
+            } else {
+                // A new object replaces the old one in every index that holds station references
+                indexes.forEach(index -> index.index(station));
+            }
+            if (previous != station) {
+                previous.removeObserver(statusListener);
+                station.addObserver(statusListener);
             }
-            return false;
+            stripe.publish(station);
+            return true;
         }
     }
 
     @Override
     public boolean delete(int id) {
-        synchronized (stations) {
-            return stations.removeIf(station -> station.getId() == id);
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            ChargingStation removed = stations.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            indexes.forEach(index -> index.unindex(removed));
+            removed.removeObserver(statusListener);
+            stripe.unpublish(id);
+            return true;
         }
     }
 
     @Override
     public List<ChargingStation> getByProviderId(int providerId) {
-        synchronized (stations) {
-            return stations.stream()
-                    .filter(station -> station.getProviderId() == providerId)
-                    .collect(Collectors.toList());
+        return resolve(providerIndex.idsFor(providerId));
+    }
+
+    @Override
+    public int countByProviderId(int providerId) {
+        return providerIndex.count(providerId);
+    }
+
+    @Override
+    public List<ChargingStation> getByStatus(ChargingStation.ChargingStationStatus status) {
+        return resolve(statusIndex.idsFor(status));
+    }
+
+    @Override
+    public int countByStatus(ChargingStation.ChargingStationStatus status) {
+        return statusIndex.count(status);
+    }
+
+    @Override
+    public List<ChargingStation> getCompatibleByStatus(User.CarType carType, ChargingStation.ChargingStationStatus status) {
+        // Both indexes are bitsets over station IDs, so this is a word-wise AND
+        return resolve(compatibilityIndex.idsFor(carType).and(statusIndex.bitsFor(status)));
+    }
+
+    @Override
+    public List<ChargingStation> getByLocation(String text) {
+        return resolve(locationIndex.idsContaining(text));
+    }
+
+    @Override
+    public List<ChargingStation> getByPowerRange(double minPowerKw, double maxPowerKw, Predicate<ChargingStation> filter) {
+        return powerIndex.findInRange(minPowerKw, maxPowerKw, filter);
+    }
+
+    @Override
+    public List<ChargingStation> findNearest(double latitude, double longitude, int k, Predicate<ChargingStation> filter) {
+        return geoIndex.findNearest(latitude, longitude, k, filter);
+    }
+
+    @Override
+    public List<ChargingStation> findInBoundingBox(double minLatitude, double minLongitude,
+                                                   double maxLatitude, double maxLongitude) {
+        return geoIndex.findInBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude, null);
+    }
+
+    @Override
+    public List<ChargingStation> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        return geoIndex.findWithinRadius(latitude, longitude, radiusKm, null);
+    }
+
+    @Override
+    public List<ChargingStation> findAlongRoute(double[] latitudes, double[] longitudes, double corridorKm,
+                                                Predicate<ChargingStation> filter) {
+        return geoIndex.findAlongRoute(latitudes, longitudes, corridorKm, filter);
+    }
+
+    @Override
+    public List<StationCluster> clusterInBoundingBox(double minLatitude, double minLongitude,
+                                                     double maxLatitude, double maxLongitude, double tileDegrees) {
+        return geoIndex.clusterInBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude, tileDegrees);
+    }
+
+    @Override
+    public List<ChargingStation> query(StationQuery query) {
+        int providerCount = query.getProviderId() != null ? providerIndex.count(query.getProviderId()) : Integer.MAX_VALUE;
+        int statusCount = query.getStatus() != null ? statusIndex.count(query.getStatus()) : Integer.MAX_VALUE;
+        Iterable<Integer> smallestBucket = null;
+        if (providerCount != Integer.MAX_VALUE || statusCount != Integer.MAX_VALUE) {
+            smallestBucket = providerCount <= statusCount
+                    ? providerIndex.idsFor(query.getProviderId())
+                    : statusIndex.idsFor(query.getStatus());
+        }
+        boolean selectiveBucket = smallestBucket != null &&
+                Math.min(providerCount, statusCount) <= stations.size() / QUERY_SELECTIVE_FRACTION;
+
+        // Walking names in order needs no sort and stops as soon as a limited page is full
+        boolean byName = query.isSortedByName() && !selectiveBucket &&
+                (query.getLimit() != Integer.MAX_VALUE || (!query.hasBoundingBox() && query.getRegion() == null &&
+                        !query.hasPowerRange() && smallestBucket == null));
+
+        boolean scanAll = !selectiveBucket && !byName && !query.hasBoundingBox() && query.getRegion() == null &&
+                !query.hasPowerRange() && smallestBucket == null;
+
+        // The ID table scan already yields the default ID order; every other index is re-sorted into it
+        QueryCollector collector = new QueryCollector(query, byName || (scanAll && query.isSortedById()));
+        if (query.getLimit() == 0) {
+            return collector.result();
+        }
+
+        if (selectiveBucket) {
+            collectIds(smallestBucket, collector);
+        } else if (byName) {
+            collect(nameIndex.iterator(null, 0), collector);
+        } else if (query.hasBoundingBox()) {
+            collect(geoIndex.findInBoundingBox(query.getMinLatitude(), query.getMinLongitude(),
+                    query.getMaxLatitude(), query.getMaxLongitude(), null).iterator(), collector);
+        } else if (query.getRegion() != null) {
+            collectIds(locationIndex.idsContaining(query.getRegion()), collector);
+        } else if (query.hasPowerRange()) {
+            collect(powerIndex.stationsInRange(query.getMinPowerKw(), query.getMaxPowerKw()).iterator(), collector);
+        } else if (smallestBucket != null) {
+            collectIds(smallestBucket, collector);
+        } else {
+            int maxId = stations.maxId();
+            for (int id = 1; id <= maxId; id++) {
+                ChargingStation station = stations.get(id);
+                if (station != null && !collector.accept(station)) {
+                    break;
+                }
+            }
+        }
+        return collector.result();
+    }
+
+    @Override
+    public Iterator<ChargingStation> iterateByName(String afterName, int afterId) {
+        return nameIndex.iterator(afterName, afterId);
+    }
+
+    @Override
+    public List<ChargingStation> getPageByName(String afterName, int afterId, int limit) {
+        return nameIndex.page(afterName, afterId, limit);
+    }
+
+    @Override
+    public StationSnapshot snapshot() {
+        long[] seqs = new long[LOCK_STRIPES];
+        StationSnapshot cached = lastSnapshot;
+        if (cached != null && readSeqs(seqs) && sum(seqs) / 2 == cached.getVersion()) {
+            // Sequence numbers only grow, so an equal sum means no stripe has been written since
+            return cached;
+        }
+        List<List<ChargingStation>> runs = new ArrayList<>(LOCK_STRIPES);
+        List<List<ChargingStation>> nameRuns = new ArrayList<>(LOCK_STRIPES);
+        for (int attempt = 0; attempt < SNAPSHOT_OPTIMISTIC_ATTEMPTS; attempt++) {
+            if (!readSeqs(seqs)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            runs.clear();
+            nameRuns.clear();
+            for (Stripe stripe : stripes) {
+                runs.add(stripe.view.values());
+                nameRuns.add(stripe.byName.values());
+            }
+            if (unchanged(seqs)) {
+                return remember(new StationSnapshot(sum(seqs) / 2, runs, nameRuns));
+            }
         }
+        // Writers keep overlapping the reads; hold every stripe for the few reads instead
+        return remember(snapshotLocked(0, seqs, runs, nameRuns));
     }
 
     @Override
     public boolean updateStatus(int id, ChargingStation.ChargingStationStatus status) {
-        synchronized (stations) {
-            return findById(id)
-                    .map(station -> {
-                        station.setStatus(status);
-                        return true;
-                    })
-                    .orElse(false);
+        synchronized (stripeFor(id)) {
+            ChargingStation station = stations.get(id);
+            if (station == null) {
+                return false;
+            }
+            station.setStatus(status);
+            return true;
         }
     }
 
@@ -112,10 +365,209 @@ public class ChargingStationDAO implements ChargingStationDAOInterface {
      */
     @Override
     public Optional<ChargingStation> findById(int id) {
-        synchronized (stations) {
-            return stations.stream()
-                    .filter(s -> s.getId() == id)
-                    .findFirst();
+        return Optional.ofNullable(stations.get(id));
+    }
+
+    /**
+     * Look up the stations for a set of IDs taken from an index
+     * @param ids Station IDs
+     * @return Stations that still exist, in the iteration order of the IDs
+     */
+    private List<ChargingStation> resolve(Iterable<Integer> ids) {
+        List<ChargingStation> result = new ArrayList<>();
+        for (int id : ids) {
+            ChargingStation station = stations.get(id);
+            if (station != null) {
+                result.add(station);
+            }
+        }
+        return result;
+    }
+
+    private void collectIds(Iterable<Integer> ids, QueryCollector collector) {
+        for (int id : ids) {
+            ChargingStation station = stations.get(id);
+            if (station != null && !collector.accept(station)) {
+                return;
+            }
+        }
+    }
+
+    private static void collect(Iterator<ChargingStation> candidates, QueryCollector collector) {
+        while (candidates.hasNext()) {
+            if (!collector.accept(candidates.next())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the lock that serializes writers of one station; writers of other stations use other stripes
+     * @param id ChargingStation ID
+     * @return Stripe lock object
+     */
+    private Stripe stripeFor(int id) {
+        return stripes[id & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Read every stripe's sequence number
+     * @param seqs Array to fill
+     * @return false if a writer was in the middle of publishing on some stripe
+     */
+    private boolean readSeqs(long[] seqs) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            seqs[i] = stripes[i].seq;
+            if ((seqs[i] & 1) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean unchanged(long[] seqs) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            if (stripes[i].seq != seqs[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long sum(long[] seqs) {
+        return Arrays.stream(seqs).sum();
+    }
+
+    private StationSnapshot remember(StationSnapshot snapshot) {
+        lastSnapshot = snapshot;
+        return snapshot;
+    }
+
+    // Lock the stripes one inside the other, then read them all while none can change
+    private StationSnapshot snapshotLocked(int stripe, long[] seqs, List<List<ChargingStation>> runs,
+                                           List<List<ChargingStation>> nameRuns) {
+        if (stripe == LOCK_STRIPES) {
+            runs.clear();
+            nameRuns.clear();
+            for (int i = 0; i < LOCK_STRIPES; i++) {
+                seqs[i] = stripes[i].seq;
+                runs.add(stripes[i].view.values());
+                nameRuns.add(stripes[i].byName.values());
+            }
+            return new StationSnapshot(sum(seqs) / 2, runs, nameRuns);
+        }
+        synchronized (stripes[stripe]) {
+            return snapshotLocked(stripe + 1, seqs, runs, nameRuns);
+        }
+    }
+
+    /**
+     * Applies a query's criteria, sort and limit to candidate stations in a single pass.
+     * A sorted, limited query keeps only the best limit matches in a bounded max-heap.
+     */
+    private static final class QueryCollector {
+        private final StationQuery query;
+        private final Comparator<ChargingStation> sort;
+        private final int limit;
+        private final List<ChargingStation> matches = new ArrayList<>();
+        private final PriorityQueue<ChargingStation> heap;
+
+        /**
+         * @param presorted true when candidates already arrive in the query's sort order
+         */
+        QueryCollector(StationQuery query, boolean presorted) {
+            this.query = query;
+            this.sort = presorted ? null : query.getSort();
+            this.limit = query.getLimit();
+            this.heap = sort != null && limit != Integer.MAX_VALUE
+                    ? new PriorityQueue<>(Math.min(limit, 1024) + 1, sort.reversed())
+                    : null;
+        }
+
+        /**
+         * @return false once no further candidate can change the result
+         */
+        boolean accept(ChargingStation station) {
+            if (!query.matches(station)) {
+                return true;
+            }
+            if (heap != null) {
+                if (heap.size() < limit) {
+                    heap.add(station);
+                } else if (sort.compare(station, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(station);
+                }
+                return true;
+            }
+            matches.add(station);
+            return sort != null || matches.size() < limit;
+        }
+
+        List<ChargingStation> result() {
+            if (heap != null) {
+                matches.addAll(heap);
+            }
+            if (sort != null) {
+                matches.sort(sort);
+            }
+            return matches;
+        }
+    }
+
+    /**
+     * Lock and snapshot view for the stations whose IDs fall on one stripe. Writers hold the stripe's monitor
+     * and replace its view with a path-copied version, so writers on different stripes share no state. The
+     * sequence number is odd while a writer is publishing; a reader that sees the same even number on every
+     * stripe before and after reading the views has read one consistent version of the whole set.
+     * The same copies are also kept in name order, so sorted scans merge the stripes instead of sorting.
+     */
+    private static final class Stripe {
+        // Detached copies of this stripe's stations by ID, as last indexed; replaced, never changed
+        volatile PersistentTreap<Integer, ChargingStation> view = new PersistentTreap<>(Integer::compare);
+        // The named copies of view, keyed by themselves in name order
+        volatile PersistentTreap<ChargingStation, ChargingStation> byName =
+                new PersistentTreap<>(StationSnapshot.NAME_ORDER);
+        volatile long seq;
+
+        // Caller holds this stripe's monitor
+        void publish(ChargingStation station) {
+            put(view.get(station.getId()), new ChargingStation(station));
+        }
+
+        // Caller holds this stripe's monitor. Takes only the status from the live station: other fields it
+        // may have had edited in place are not indexed until update(), so the copy must not show them yet
+        void publishStatus(ChargingStation station) {
+            ChargingStation indexed = view.get(station.getId());
+            ChargingStation copy = new ChargingStation(indexed != null ? indexed : station);
+            copy.copyOccupancyFrom(station);
+            put(indexed, copy);
+        }
+
+        // Caller holds this stripe's monitor
+        void unpublish(int id) {
+            ChargingStation previous = view.get(id);
+            seq++;
+            view = view.remove(id);
+            if (previous != null && previous.getName() != null) {
+                byName = byName.remove(previous);
+            }
+            seq++;
+        }
+
+        // Replace the previous copy of a station in both views
+        private void put(ChargingStation previous, ChargingStation copy) {
+            PersistentTreap<ChargingStation, ChargingStation> names = byName;
+            if (previous != null && previous.getName() != null) {
+                names = names.remove(previous);
+            }
+            if (copy.getName() != null) {
+                names = names.put(copy, copy);
+            }
+            seq++;
+            view = view.put(copy.getId(), copy);
+            byName = names;
+            seq++;
         }
     }
-}
\ No newline at end of file
+}
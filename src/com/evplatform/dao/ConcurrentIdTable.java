@@ -0,0 +1,336 @@
+package com.evplatform.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent storage for entities keyed by a dense, DAO-assigned integer ID.
+ * Entities live in fixed-size chunks of atomic slots; the chunk directory only ever grows,
+ * and chunks are never copied, so a write to one ID can never be lost by growth triggered by another.
+ * Reads are lock-free, writes to different IDs do not contend, and IDs are allocated atomically.
+ *
+ * @param <T> Type of the stored entity
+ */
+public final class ConcurrentIdTable<T> {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Directory of chunks; replaced (never mutated in place) when it needs to grow
+    private volatile AtomicReferenceArray<Chunk<T>> directory = new AtomicReferenceArray<>(4);
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final AtomicInteger size = new AtomicInteger();
+    private final Object growLock = new Object();
+
+    /**
+     * Reserve the next free ID
+     * @return Newly allocated ID, starting at 1
+     */
+    public int allocateId() {
+        return nextId.getAndIncrement();
+    }
+
+    /**
+     * Get the highest ID allocated so far
+     * @return Highest allocated ID, or 0 if none has been allocated
+     */
+    public int maxId() {
+        return nextId.get() - 1;
+    }
+
+    /**
+     * Get the number of stored entities
+     * @return Number of non-empty slots
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Get the entity stored under an ID
+     * @param id Entity ID
+     * @return Entity or null if the slot is empty
+     */
+    public T get(int id) {
+        if (id <= 0) {
+            return null;
+        }
+        AtomicReferenceArray<Chunk<T>> dir = directory;
+        int chunkIndex = id >>> CHUNK_BITS;
+        if (chunkIndex >= dir.length()) {
+            return null;
+        }
+        Chunk<T> chunk = dir.get(chunkIndex);
+        return chunk == null ? null : chunk.slots.get(id & CHUNK_MASK);
+    }
+
+    /**
+     * Store an entity under a freshly allocated ID
+     * @param id ID returned by {@link #allocateId()}
+     * @param entity Entity to store
+     */
+    public void insert(int id, T entity) {
+        Chunk<T> chunk = chunkFor(id, true);
+        if (chunk.slots.getAndSet(id & CHUNK_MASK, entity) == null) {
+            chunk.count.incrementAndGet();
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Replace the entity stored under an ID, but only if one is present
+     * @param id Entity ID
+     * @param entity Replacement entity
+     * @return The replaced entity, or null if the slot was empty
+     */
+    public T replace(int id, T entity) {
+        Chunk<T> chunk = id > 0 ? chunkFor(id, false) : null;
+        if (chunk == null) {
+            return null;
+        }
+        int slot = id & CHUNK_MASK;
+        while (true) {
+            T current = chunk.slots.get(slot);
+            if (current == null) {
+                return null;
+            }
+            if (chunk.slots.compareAndSet(slot, current, entity)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Empty the slot for an ID
+     * @param id Entity ID
+     * @return The removed entity, or null if the slot was already empty
+     */
+    public T remove(int id) {
+        Chunk<T> chunk = id > 0 ? chunkFor(id, false) : null;
+        if (chunk == null) {
+            return null;
+        }
+        T removed = chunk.slots.getAndSet(id & CHUNK_MASK, null);
+        if (removed != null) {
+            chunk.count.decrementAndGet();
+            size.decrementAndGet();
+        }
+        return removed;
+    }
+
+    /**
+     * Visit every stored entity in ascending ID order without taking any lock
+     * @param action Action to apply to each entity
+     */
+    public void forEach(Consumer<? super T> action) {
+        int maxId = maxId();
+        AtomicReferenceArray<Chunk<T>> dir = directory;
+        int lastChunk = Math.min(maxId >>> CHUNK_BITS, dir.length() - 1);
+        for (int chunkIndex = 0; chunkIndex <= lastChunk; chunkIndex++) {
+            Chunk<T> chunk = dir.get(chunkIndex);
+            if (chunk != null) {
+                chunk.forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Get the stored entities with IDs greater than a cursor, in ascending ID order.
+     * Only the requested slice is visited; chunks with no entities are skipped whole.
+     * @param afterId ID of the last entity of the previous page, or 0 for the first page
+     * @param limit Maximum number of entities to return
+     * @return Up to limit entities following the cursor
+     */
+    public List<T> page(int afterId, int limit) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(limit, CHUNK_SIZE)));
+        int maxId = maxId();
+        AtomicReferenceArray<Chunk<T>> dir = directory;
+        int id = Math.max(afterId, 0) + 1;
+        while (id > 0 && id <= maxId && result.size() < limit) {
+            int chunkIndex = id >>> CHUNK_BITS;
+            if (chunkIndex >= dir.length()) {
+                break;
+            }
+            Chunk<T> chunk = dir.get(chunkIndex);
+            if (chunk == null || chunk.count.get() == 0) {
+                id = (chunkIndex + 1) << CHUNK_BITS;
+                continue;
+            }
+            T entity = chunk.slots.get(id & CHUNK_MASK);
+            if (entity != null) {
+                result.add(entity);
+            }
+            id++;
+        }
+        return result;
+    }
+
+    /**
+     * Create a spliterator over the stored entities in ascending ID order.
+     * It splits at chunk boundaries and estimates the number of entities on each side of every split
+     * from the per-chunk counts read when it is created. The table may change while it is traversed,
+     * so the sizes are only estimates and the spliterator reports CONCURRENT rather than SIZED.
+     * @return Spliterator suitable for parallel streams
+     */
+    public Spliterator<T> spliterator() {
+        AtomicReferenceArray<Chunk<T>> dir = directory;
+        int chunkCount = Math.min((maxId() >>> CHUNK_BITS) + 1, dir.length());
+        @SuppressWarnings("unchecked")
+        Chunk<T>[] chunks = (Chunk<T>[]) new Chunk<?>[chunkCount];
+        // sizeBefore[i] is the number of entities in chunks[0..i), so any chunk range is estimated in O(1)
+        long[] sizeBefore = new long[chunkCount + 1];
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = dir.get(i);
+            sizeBefore[i + 1] = sizeBefore[i] + (chunks[i] == null ? 0 : chunks[i].count.get());
+        }
+        return new ChunkSpliterator<>(chunks, sizeBefore, 0, chunkCount);
+    }
+
+    /**
+     * Copy every stored entity into a new list in ascending ID order
+     * @return List of all entities
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(size());
+        forEach(result::add);
+        return result;
+    }
+
+    private Chunk<T> chunkFor(int id, boolean create) {
+        int chunkIndex = id >>> CHUNK_BITS;
+        AtomicReferenceArray<Chunk<T>> dir = directory;
+        if (chunkIndex < dir.length()) {
+            Chunk<T> chunk = dir.get(chunkIndex);
+            if (chunk != null || !create) {
+                return chunk;
+            }
+        } else if (!create) {
+            return null;
+        }
+
+        // Slow path: growing the directory or installing a chunk happens once per CHUNK_SIZE IDs
+        synchronized (growLock) {
+            dir = directory;
+            if (chunkIndex >= dir.length()) {
+                AtomicReferenceArray<Chunk<T>> grown =
+                        new AtomicReferenceArray<>(Math.max(chunkIndex + 1, dir.length() * 2));
+                for (int i = 0; i < dir.length(); i++) {
+                    grown.set(i, dir.get(i));
+                }
+                directory = grown;
+                dir = grown;
+            }
+            Chunk<T> chunk = dir.get(chunkIndex);
+            if (chunk == null) {
+                chunk = new Chunk<>();
+                dir.set(chunkIndex, chunk);
+            }
+            return chunk;
+        }
+    }
+
+    /**
+     * CHUNK_SIZE atomic slots plus the number of them currently occupied
+     */
+    private static final class Chunk<T> {
+        final AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(CHUNK_SIZE);
+        final AtomicInteger count = new AtomicInteger();
+
+        void forEach(Consumer<? super T> action) {
+            for (int slot = 0; slot < CHUNK_SIZE; slot++) {
+                T entity = slots.get(slot);
+                if (entity != null) {
+                    action.accept(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Spliterator over a range of chunks [from, to); splits halve the range at a chunk boundary
+     */
+    private static final class ChunkSpliterator<T> implements Spliterator<T> {
+        private final Chunk<T>[] chunks;
+        private final long[] sizeBefore;
+        private int from;
+        private final int to;
+        private int slot; // Next slot to visit in chunks[from] once tryAdvance has started on it
+        private int taken; // Entities already returned from chunks[from]
+
+        ChunkSpliterator(Chunk<T>[] chunks, long[] sizeBefore, int from, int to) {
+            this.chunks = chunks;
+            this.sizeBefore = sizeBefore;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (from < to) {
+                Chunk<T> chunk = chunks[from];
+                while (chunk != null && slot < CHUNK_SIZE) {
+                    T entity = chunk.slots.get(slot++);
+                    if (entity != null) {
+                        taken++;
+                        action.accept(entity);
+                        return true;
+                    }
+                }
+                nextChunk();
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (slot > 0 && from < to) {
+                // Finish the chunk tryAdvance was in the middle of
+                Chunk<T> chunk = chunks[from];
+                while (slot < CHUNK_SIZE) {
+                    T entity = chunk.slots.get(slot++);
+                    if (entity != null) {
+                        action.accept(entity);
+                    }
+                }
+                nextChunk();
+            }
+            for (; from < to; from++) {
+                if (chunks[from] != null) {
+                    chunks[from].forEach(action);
+                }
+            }
+        }
+
+        private void nextChunk() {
+            from++;
+            slot = 0;
+            taken = 0;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (slot > 0 || to - from < 2) {
+                return null;
+            }
+            int mid = (from + to) >>> 1;
+            Spliterator<T> prefix = new ChunkSpliterator<>(chunks, sizeBefore, from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return from >= to ? 0 : Math.max(0, sizeBefore[to] - sizeBefore[from] - taken);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL | CONCURRENT;
+        }
+    }
+}
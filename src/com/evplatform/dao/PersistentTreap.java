@@ -0,0 +1,246 @@
+package com.evplatform.dao;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Immutable sorted map kept as a treap. Every put or remove returns a new map that shares all untouched
+ * nodes with the old one, copying only the O(log n) nodes on the path to the changed key, so any number of
+ * versions can be kept at the cost of their differences. An old version is reclaimed by the garbage collector
+ * once nothing references it. Node priorities are derived from the key's hash, so the shape of the tree
+ * depends only on the set of keys, and it is balanced in expectation.
+ *
+ * @param <K> Type of the keys
+ * @param <V> Type of the values
+ */
+public final class PersistentTreap<K, V> {
+
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> root;
+
+    /**
+     * Create an empty map
+     * @param comparator Order of the keys
+     */
+    public PersistentTreap(Comparator<? super K> comparator) {
+        this(comparator, null);
+    }
+
+    private PersistentTreap(Comparator<? super K> comparator, Node<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    /**
+     * Get the number of entries
+     * @return Entry count
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Get the value stored under a key
+     * @param key Key to look up
+     * @return Value, or null if the key is absent
+     */
+    public V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(key, node.key);
+            if (cmp == 0) {
+                return node.value;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Get a map with a key set to a value
+     * @param key Key to set
+     * @param value Value to store
+     * @return New map; this map is unchanged
+     */
+    public PersistentTreap<K, V> put(K key, V value) {
+        return new PersistentTreap<>(comparator, put(root, key, value, priorityOf(key)));
+    }
+
+    /**
+     * Get a map without a key
+     * @param key Key to remove
+     * @return New map, or this map if the key was absent
+     */
+    public PersistentTreap<K, V> remove(K key) {
+        Node<K, V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentTreap<>(comparator, newRoot);
+    }
+
+    /**
+     * Get the values in key order as an immutable list view; iteration is lazy and get(i) is O(log n)
+     * @return List of values
+     */
+    public List<V> values() {
+        return new Values<>(root);
+    }
+
+    private Node<K, V> put(Node<K, V> node, K key, V value, int priority) {
+        if (node == null) {
+            return new Node<>(key, value, priority, null, null);
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp == 0) {
+            return new Node<>(key, value, node.priority, node.left, node.right);
+        }
+        if (cmp < 0) {
+            Node<K, V> left = put(node.left, key, value, priority);
+            if (left.priority > node.priority) {
+                // Rotate right: the new child rises above this node
+                return new Node<>(left.key, left.value, left.priority, left.left,
+                        new Node<>(node.key, node.value, node.priority, left.right, node.right));
+            }
+            return new Node<>(node.key, node.value, node.priority, left, node.right);
+        }
+        Node<K, V> right = put(node.right, key, value, priority);
+        if (right.priority > node.priority) {
+            // Rotate left
+            return new Node<>(right.key, right.value, right.priority,
+                    new Node<>(node.key, node.value, node.priority, node.left, right.left), right.right);
+        }
+        return new Node<>(node.key, node.value, node.priority, node.left, right);
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            Node<K, V> left = remove(node.left, key);
+            return left == node.left ? node : new Node<>(node.key, node.value, node.priority, left, node.right);
+        }
+        Node<K, V> right = remove(node.right, key);
+        return right == node.right ? node : new Node<>(node.key, node.value, node.priority, node.left, right);
+    }
+
+    // Join two treaps whose keys are all smaller on the left than on the right
+    private static <K, V> Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return new Node<>(left.key, left.value, left.priority, left.left, merge(left.right, right));
+        }
+        return new Node<>(right.key, right.value, right.priority, merge(left, right.left), right.right);
+    }
+
+    private static int priorityOf(Object key) {
+        // Spread the hash so keys with sequential hashes, such as IDs, still get random-looking priorities
+        int h = key.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final int priority;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int size;
+
+        Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    /**
+     * Read-only list over the values of one version, in key order. Marked RandomAccess so that streams
+     * split it by index into even halves rather than in growing batches drawn from the iterator.
+     */
+    private static final class Values<K, V> extends AbstractList<V> implements RandomAccess {
+        private final Node<K, V> root;
+
+        Values(Node<K, V> root) {
+            this.root = root;
+        }
+
+        @Override
+        public V get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            Node<K, V> node = root;
+            while (true) {
+                int leftSize = PersistentTreap.size(node.left);
+                if (index < leftSize) {
+                    node = node.left;
+                } else if (index == leftSize) {
+                    return node.value;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return PersistentTreap.size(root);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                // Path of nodes whose own value and right subtree are still to be visited
+                private final ArrayDeque<Node<K, V>> path = new ArrayDeque<>();
+
+                {
+                    pushLeft(root);
+                }
+
+                private void pushLeft(Node<K, V> node) {
+                    for (; node != null; node = node.left) {
+                        path.push(node);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return !path.isEmpty();
+                }
+
+                @Override
+                public V next() {
+                    if (path.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node<K, V> node = path.pop();
+                    pushLeft(node.right);
+                    return node.value;
+                }
+            };
+        }
+    }
+}
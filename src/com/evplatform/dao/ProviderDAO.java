@@ -3,13 +3,13 @@ package com.evplatform.dao;
 import com.evplatform.dao.interfaces.ProviderDAOInterface;
 import com.evplatform.vao.Provider;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Implementation of ProviderDAOInterface using in-memory List collection.
+ * Implementation of ProviderDAOInterface using a concurrent in-memory table indexed by ID.
  * Uses Singleton pattern to ensure only one instance exists.
  */
 public class ProviderDAO implements ProviderDAOInterface {
@@ -17,9 +17,8 @@ public class ProviderDAO implements ProviderDAOInterface {
     // Singleton instance with volatile for thread safety
     private static volatile ProviderDAO instance;
 
-    // Thread-safe in-memory storage for providers
-    private final List<Provider> providers = Collections.synchronizedList(new ArrayList<>());
-    private int nextId = 1;
+    // Thread-safe in-memory storage for providers: lock-free reads, CAS writes and atomic ID allocation
+    private final ConcurrentIdTable<Provider> providers = new ConcurrentIdTable<>();
 
     // Private constructor for Singleton pattern
     public ProviderDAO() {
@@ -43,44 +42,40 @@ public class ProviderDAO implements ProviderDAOInterface {
 
     @Override
     public int add(Provider provider) {
-        synchronized (providers) {
-            provider.setId(nextId++);
-            providers.add(provider);
-            return provider.getId();
-        }
+        int id = providers.allocateId();
+        provider.setId(id);
+        providers.insert(id, provider);
+        return id;
     }
 
     @Override
     public Provider getById(int id) {
-        return findById(id).orElse(null);
+        return providers.get(id);
     }
 
     @Override
     public List<Provider> getAll() {
-        synchronized (providers) {
-            return new ArrayList<>(providers); // Return a copy to prevent ConcurrentModificationException
-        }
+        return providers.toList(); // Return a copy to prevent ConcurrentModificationException
     }
 
     @Override
-    public boolean update(Provider provider) {
-        synchronized (providers) {
-            Optional<Provider> existingProvider = findById(provider.getId());
+    public List<Provider> getPage(int afterId, int limit) {
+        return providers.page(afterId, limit);
+    }
 
-            if (existingProvider.isPresent()) {
-                int index = providers.indexOf(existingProvider.get());
-                providers.set(index, provider);
-                return true;
-            }
-            return false;
-        }
+    @Override
+    public Stream<Provider> stream() {
+        return StreamSupport.stream(providers.spliterator(), false);
+    }
+
+    @Override
+    public boolean update(Provider provider) {
+        return providers.replace(provider.getId(), provider) != null;
     }
 
     @Override
     public boolean delete(int id) {
-        synchronized (providers) {
-            return providers.removeIf(provider -> provider.getId() == id);
-        }
+        return providers.remove(id) != null;
     }
 
     /**
@@ -90,10 +85,6 @@ public class ProviderDAO implements ProviderDAOInterface {
      */
     @Override
     public Optional<Provider> findById(int id) {
-        synchronized (providers) {
-            return providers.stream()
-                    .filter(p -> p.getId() == id)
-                    .findFirst();
-        }
+        return Optional.ofNullable(providers.get(id));
     }
 }
\ No newline at end of file
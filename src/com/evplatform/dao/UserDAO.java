@@ -3,13 +3,15 @@ package com.evplatform.dao;
 import com.evplatform.dao.interfaces.UserDAOInterface;
 import com.evplatform.vao.User;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Implementation of UserDAOInterface using in-memory List collection.
+ * Implementation of UserDAOInterface using a concurrent in-memory table indexed by ID.
  * Uses Singleton pattern to ensure only one instance exists.
  */
 public class UserDAO implements UserDAOInterface {
@@ -17,13 +19,24 @@ public class UserDAO implements UserDAOInterface {
     // Singleton instance with volatile for thread safety
     private static volatile UserDAO instance;
 
-    // Thread-safe in-memory storage for users
-    private final List<User> users = Collections.synchronizedList(new ArrayList<>());
-    private int nextId = 1;
+    // Number of lock stripes used to serialize writers of the same user; must be a power of two
+    private static final int LOCK_STRIPES = 64;
+
+    // Thread-safe in-memory storage for users: lock-free reads, CAS writes and atomic ID allocation
+    private final ConcurrentIdTable<User> users = new ConcurrentIdTable<>();
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+
+    // Unique index from normalized email to user ID; putIfAbsent makes the uniqueness check atomic
+    private final ConcurrentHashMap<String, Integer> idByEmail = new ConcurrentHashMap<>();
+    // Email each user was indexed under, so in-place email changes can release the old address
+    private final ConcurrentHashMap<Integer, String> emailById = new ConcurrentHashMap<>();
 
     // Private constructor for Singleton pattern
     private UserDAO() {
         // Private constructor prevents instantiation from outside
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
     }
 
     /**
@@ -43,71 +56,127 @@ public class UserDAO implements UserDAOInterface {
 
     @Override
     public int add(User user) {
-        synchronized (users) {
-            user.setId(nextId++);
-            users.add(user);
-            return user.getId();
+        int id = users.allocateId();
+        synchronized (stripeFor(id)) {
+            String email = normalizeEmail(user.getEmail());
+            if (email != null) {
+                claimEmail(email, id, user.getEmail());
+                emailById.put(id, email);
+            }
+            user.setId(id);
+            users.insert(id, user);
         }
+        return id;
     }
 
     @Override
     public User getById(int id) {
-        return findById(id).orElse(null);
+        return users.get(id);
     }
 
     @Override
     public User getByEmail(String email) {
-        synchronized (users) {
-            return users.stream()
-                    .filter(u -> u.getEmail() != null && u.getEmail().equalsIgnoreCase(email))
-                    .findFirst()
-                    .orElse(null);
+        String key = normalizeEmail(email);
+        if (key == null) {
+            return null;
         }
+        Integer id = idByEmail.get(key);
+        return id == null ? null : users.get(id);
     }
 
     @Override
     public List<User> getAll() {
-        synchronized (users) {
-            return new ArrayList<>(users); // Return a copy to prevent ConcurrentModificationException
-        }
+        return users.toList(); // Return a copy to prevent ConcurrentModificationException
+    }
+
+    @Override
+    public List<User> getPage(int afterId, int limit) {
+        return users.page(afterId, limit);
+    }
+
+    @Override
+    public Stream<User> stream() {
+        return StreamSupport.stream(users.spliterator(), false);
     }
 
     @Override
     public boolean update(User user) {
-        synchronized (users) {
-            Optional<User> existingUser = findById(user.getId());
+        int id = user.getId();
+        synchronized (stripeFor(id)) {
+            if (users.get(id) == null) {
+                return false;
+            }
 
-            if (existingUser.isPresent()) {
-                int index = users.indexOf(existingUser.get());
-                users.set(index, user);
-                return true;
+            String oldEmail = emailById.get(id);
+            String newEmail = normalizeEmail(user.getEmail());
+            if (newEmail != null && !newEmail.equals(oldEmail)) {
+                claimEmail(newEmail, id, user.getEmail());
+                emailById.put(id, newEmail);
+            } else if (newEmail == null) {
+                emailById.remove(id);
             }
-            return false;
+            if (oldEmail != null && !oldEmail.equals(newEmail)) {
+                idByEmail.remove(oldEmail, id);
+            }
+
+            users.replace(id, user);
+            return true;
         }
     }
 
     @Override
     public boolean delete(int id) {
-        synchronized (users) {
-            return users.removeIf(user -> user.getId() == id);
+        synchronized (stripeFor(id)) {
+            if (users.remove(id) == null) {
+                return false;
+            }
+            String email = emailById.remove(id);
+            if (email != null) {
+                idByEmail.remove(email, id);
+            }
+            return true;
         }
     }
 
     @Override
     public Optional<User> findById(int id) {
-        synchronized (users) {
-            return users.stream()
-                    .filter(u -> u.getId() == id)
-                    .findFirst();
-        }
+        return Optional.ofNullable(users.get(id));
     }
 
     @Override
     public Optional<User> findByEmail(String email) {
-        synchronized (users) {
-            return users.stream()
-                    .filter(u -> u.getEmail() != null && u.getEmail().equalsIgnoreCase(email))
-                    .findFirst();
+        return Optional.ofNullable(getByEmail(email));
+    }
+
+    /**
+     * Reserve an email address for a user
+     * @param key Normalized email
+     * @param id ID of the user claiming it
+     * @param email Email as entered, used in the error message
+     * @throws IllegalArgumentException if another user already holds the address
+     */
+    private void claimEmail(String key, int id, String email) throws IllegalArgumentException {
+        Integer owner = idByEmail.putIfAbsent(key, id);
+        if (owner != null && owner != id) {
+            throw new IllegalArgumentException("Email already in use: " + email);
         }
     }
+
+    /**
+     * Normalize an email for case-insensitive lookups
+     * @param email Email as entered
+     * @return Trimmed, lower-cased email or null if the email is null
+     */
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the lock that serializes writers of one user; writers of other users use other stripes
+     * @param id User ID
+     * @return Stripe lock object
+     */
+    private Object stripeFor(int id) {
+        return stripes[id & (LOCK_STRIPES - 1)];
+    }
 }
\ No newline at end of file
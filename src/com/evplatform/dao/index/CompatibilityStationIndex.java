@@ -0,0 +1,56 @@
+package com.evplatform.dao.index;
+
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.User;
+import com.evplatform.vao.VehicleCompatibility;
+
+/**
+ * One bitset of station IDs per car type, holding the stations whose power that car type can use.
+ * Compatibility of a station becomes a bit test, and combining it with another bitset index,
+ * such as the status index, is a word-wise AND instead of a scan over every station.
+ */
+public class CompatibilityStationIndex implements StationIndex {
+
+    private static final User.CarType[] CAR_TYPES = User.CarType.values();
+
+    // idsByCarType[carType.ordinal()] holds the IDs of the stations compatible with that car type
+    private final ConcurrentBitSet[] idsByCarType = new ConcurrentBitSet[CAR_TYPES.length];
+
+    public CompatibilityStationIndex() {
+        for (int i = 0; i < idsByCarType.length; i++) {
+            idsByCarType[i] = new ConcurrentBitSet();
+        }
+    }
+
+    @Override
+    public void index(ChargingStation station) {
+        for (User.CarType carType : CAR_TYPES) {
+            if (VehicleCompatibility.isCompatible(carType, station.getMaxPowerKw())) {
+                idsByCarType[carType.ordinal()].set(station.getId());
+            } else {
+                idsByCarType[carType.ordinal()].clear(station.getId());
+            }
+        }
+    }
+
+    @Override
+    public boolean keyChanged(ChargingStation indexed, ChargingStation station) {
+        return Double.compare(indexed.getMaxPowerKw(), station.getMaxPowerKw()) != 0;
+    }
+
+    @Override
+    public void unindex(ChargingStation station) {
+        for (ConcurrentBitSet ids : idsByCarType) {
+            ids.clear(station.getId());
+        }
+    }
+
+    /**
+     * Get the IDs of the stations a car type can use
+     * @param carType Car type
+     * @return Live bitset of compatible station IDs; callers must not modify it
+     */
+    public ConcurrentBitSet idsFor(User.CarType carType) {
+        return idsByCarType[carType.ordinal()];
+    }
+}
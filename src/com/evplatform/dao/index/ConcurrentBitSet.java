@@ -0,0 +1,150 @@
+package com.evplatform.dao.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Growable set of non-negative station IDs stored one bit per ID.
+ * Words live in fixed-size chunks that are never copied, so setting one bit can never be lost
+ * by growth triggered by another, and bits are set and cleared with a CAS on their word.
+ * Intersections walk two sets a 64-bit word at a time.
+ */
+public final class ConcurrentBitSet {
+
+    private static final int WORD_BITS = 6;
+    private static final int CHUNK_WORD_BITS = 6;
+    private static final int CHUNK_WORDS = 1 << CHUNK_WORD_BITS; // 4096 IDs per chunk
+    private static final int CHUNK_WORD_MASK = CHUNK_WORDS - 1;
+
+    // Directory of chunks; replaced (never mutated in place) when it needs to grow
+    private volatile AtomicReferenceArray<AtomicLongArray> directory = new AtomicReferenceArray<>(4);
+    private final Object growLock = new Object();
+
+    /**
+     * Add an ID to the set
+     * @param id Non-negative ID
+     */
+    public void set(int id) {
+        int word = id >>> WORD_BITS;
+        AtomicLongArray chunk = chunkFor(word, true);
+        int slot = word & CHUNK_WORD_MASK;
+        long mask = 1L << id;
+        long current = chunk.get(slot);
+        while ((current & mask) == 0 && !chunk.compareAndSet(slot, current, current | mask)) {
+            current = chunk.get(slot);
+        }
+    }
+
+    /**
+     * Remove an ID from the set
+     * @param id Non-negative ID
+     */
+    public void clear(int id) {
+        int word = id >>> WORD_BITS;
+        AtomicLongArray chunk = chunkFor(word, false);
+        if (chunk == null) {
+            return;
+        }
+        int slot = word & CHUNK_WORD_MASK;
+        long mask = 1L << id;
+        long current = chunk.get(slot);
+        while ((current & mask) != 0 && !chunk.compareAndSet(slot, current, current & ~mask)) {
+            current = chunk.get(slot);
+        }
+    }
+
+    /**
+     * Check whether an ID is in the set
+     * @param id ID to test
+     * @return true if the ID is present
+     */
+    public boolean get(int id) {
+        if (id < 0) {
+            return false;
+        }
+        AtomicLongArray chunk = chunkFor(id >>> WORD_BITS, false);
+        return chunk != null && (chunk.get((id >>> WORD_BITS) & CHUNK_WORD_MASK) & (1L << id)) != 0;
+    }
+
+    /**
+     * Get the IDs present in both this set and another, in ascending order.
+     * Each word is read once, so an ID changed concurrently may or may not be reported.
+     * @param other Set to intersect with
+     * @return IDs present in both sets
+     */
+    public List<Integer> and(ConcurrentBitSet other) {
+        List<Integer> result = new ArrayList<>();
+        AtomicReferenceArray<AtomicLongArray> mine = directory;
+        AtomicReferenceArray<AtomicLongArray> theirs = other.directory;
+        int chunkCount = Math.min(mine.length(), theirs.length());
+        for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            AtomicLongArray left = mine.get(chunkIndex);
+            AtomicLongArray right = theirs.get(chunkIndex);
+            if (left == null || right == null) {
+                continue;
+            }
+            int base = chunkIndex << (CHUNK_WORD_BITS + WORD_BITS);
+            for (int slot = 0; slot < CHUNK_WORDS; slot++) {
+                long bits = left.get(slot) & right.get(slot);
+                while (bits != 0) {
+                    result.add(base + (slot << WORD_BITS) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Count the IDs in the set
+     * @return Number of IDs present
+     */
+    public int cardinality() {
+        int count = 0;
+        AtomicReferenceArray<AtomicLongArray> dir = directory;
+        for (int chunkIndex = 0; chunkIndex < dir.length(); chunkIndex++) {
+            AtomicLongArray chunk = dir.get(chunkIndex);
+            if (chunk != null) {
+                for (int slot = 0; slot < CHUNK_WORDS; slot++) {
+                    count += Long.bitCount(chunk.get(slot));
+                }
+            }
+        }
+        return count;
+    }
+
+    private AtomicLongArray chunkFor(int word, boolean create) {
+        int chunkIndex = word >>> CHUNK_WORD_BITS;
+        AtomicReferenceArray<AtomicLongArray> dir = directory;
+        if (chunkIndex < dir.length()) {
+            AtomicLongArray chunk = dir.get(chunkIndex);
+            if (chunk != null || !create) {
+                return chunk;
+            }
+        } else if (!create) {
+            return null;
+        }
+
+        // Slow path: growing the directory or installing a chunk happens once per chunk of IDs
+        synchronized (growLock) {
+            dir = directory;
+            if (chunkIndex >= dir.length()) {
+                AtomicReferenceArray<AtomicLongArray> grown =
+                        new AtomicReferenceArray<>(Math.max(chunkIndex + 1, dir.length() * 2));
+                for (int i = 0; i < dir.length(); i++) {
+                    grown.set(i, dir.get(i));
+                }
+                directory = grown;
+                dir = grown;
+            }
+            AtomicLongArray chunk = dir.get(chunkIndex);
+            if (chunk == null) {
+                chunk = new AtomicLongArray(CHUNK_WORDS);
+                dir.set(chunkIndex, chunk);
+            }
+            return chunk;
+        }
+    }
+}
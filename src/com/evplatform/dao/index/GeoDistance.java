@@ -0,0 +1,41 @@
+package com.evplatform.dao.index;
+
+/**
+ * Great-circle distance helpers used by the spatial station indexes.
+ */
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoDistance() {
+        // Static helpers only
+    }
+
+    /**
+     * Haversine distance between two points
+     * @param lat1 Latitude of the first point in degrees
+     * @param lon1 Longitude of the first point in degrees
+     * @param lat2 Latitude of the second point in degrees
+     * @param lon2 Longitude of the second point in degrees
+     * @return Distance in kilometres
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Length in kilometres of one degree of longitude at a latitude
+     * @param latitude Latitude in degrees
+     * @return Kilometres per degree of longitude, never less than a small positive floor near the poles
+     */
+    public static double kmPerDegreeLongitude(double latitude) {
+        return KM_PER_DEGREE_LATITUDE * Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(latitude), 89.9))), 1e-3);
+    }
+}
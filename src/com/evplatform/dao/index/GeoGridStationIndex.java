@@ -0,0 +1,606 @@
+package com.evplatform.dao.index;
+
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.StationCluster;
+import com.evplatform.vao.StationQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Uniform latitude/longitude grid over charging station positions.
+ * Only non-empty cells are stored, so memory grows with the fleet rather than with the covered area.
+ * Bounding-box and radius queries visit only the cells overlapping the query rectangle,
+ * and accept whole cells without per-station checks when they lie fully inside it.
+ * Nearest-neighbour queries expand ring by ring around the query cell and stop as soon as
+ * no unvisited cell can hold anything closer than the current k-th best candidate.
+ * Columns wrap around at the antimeridian, so searches near longitude 180 see both sides of it.
+ */
+public class GeoGridStationIndex implements StationIndex {
+
+    public static final double DEFAULT_CELL_DEGREES = 0.1;
+
+    private final double cellDegrees;
+    private final int columns; // Cells around one circle of latitude; column indices wrap modulo this
+    private final double columnDegrees; // Cell width, shrunk from cellDegrees so that columns tile 360 degrees exactly
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Integer, Entry>> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Entry> entryById = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public GeoGridStationIndex() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    /**
+     * Create a grid with square cells; the width is rounded down slightly so that whole columns span 360 degrees
+     * @param cellDegrees Cell edge in degrees; roughly the expected distance to the nearest few stations
+     */
+    public GeoGridStationIndex(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("Cell size must be greater than zero");
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360.0 / cellDegrees - 1e-9);
+        this.columnDegrees = 360.0 / columns;
+    }
+
+    @Override
+    public void index(ChargingStation station) {
+        int id = station.getId();
+        Entry entry = station.hasCoordinates()
+                ? new Entry(station, station.getLatitude(), station.getLongitude(), cellKey(row(station.getLatitude()), wrapCol(col(station.getLongitude()))))
+                : null;
+        Entry previous = entry == null ? entryById.remove(id) : entryById.put(id, entry);
+
+        if (previous != null) {
+            removeFromCell(previous.cellKey, id);
+        }
+        if (entry != null) {
+            cells.compute(entry.cellKey, (key, cell) -> {
+                ConcurrentHashMap<Integer, Entry> result = cell != null ? cell : new ConcurrentHashMap<>();
+                result.put(id, entry);
+                return result;
+            });
+            if (previous == null) {
+                size.incrementAndGet();
+            }
+        } else if (previous != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean keyChanged(ChargingStation indexed, ChargingStation station) {
+        return Double.compare(indexed.getLatitude(), station.getLatitude()) != 0
+                || Double.compare(indexed.getLongitude(), station.getLongitude()) != 0;
+    }
+
+    @Override
+    public void unindex(ChargingStation station) {
+        Entry previous = entryById.remove(station.getId());
+        if (previous != null) {
+            removeFromCell(previous.cellKey, station.getId());
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Find the stations closest to a point
+     * @param latitude Latitude of the query point in degrees
+     * @param longitude Longitude of the query point in degrees
+     * @param k Maximum number of stations to return
+     * @param filter Condition a station must satisfy to be returned
+     * @return Up to k matching stations, nearest first
+     */
+    public List<ChargingStation> findNearest(double latitude, double longitude, int k, Predicate<ChargingStation> filter) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Max-heap on distance holding the best k candidates seen so far
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, Comparator.comparingDouble((Candidate c) -> c.distanceKm).reversed());
+        int centerRow = row(latitude);
+        int centerCol = wrapCol(col(longitude));
+        int total = size.get();
+        int visited = 0;
+
+        for (int ring = 0; ; ring++) {
+            if (best.size() == k && minDistanceToRingKm(latitude, ring) > best.peek().distanceKm) {
+                break;
+            }
+            if (visited >= total) {
+                break;
+            }
+            if (ring > 0 && 8L * ring > cells.size()) {
+                // The ring has more cells than the grid has occupied cells: finish with one pass over those instead
+                for (Map.Entry<Long, ConcurrentHashMap<Integer, Entry>> cell : cells.entrySet()) {
+                    if (ringOf(cell.getKey(), centerRow, centerCol) >= ring) {
+                        scanCell(cell.getValue(), latitude, longitude, k, filter, best);
+                    }
+                }
+                break;
+            }
+            for (long key : ringCells(centerRow, centerCol, ring)) {
+                ConcurrentHashMap<Integer, Entry> cell = cells.get(key);
+                if (cell != null) {
+                    visited += scanCell(cell, latitude, longitude, k, filter, best);
+                }
+            }
+        }
+
+        List<ChargingStation> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().station);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Find the stations inside a latitude/longitude rectangle
+     * @param minLatitude Southern edge in degrees
+     * @param minLongitude Western edge in degrees; greater than maxLongitude for boxes crossing the antimeridian
+     * @param maxLatitude Northern edge in degrees
+     * @param maxLongitude Eastern edge in degrees
+     * @param filter Condition a station must satisfy, or null to accept every station
+     * @return Matching stations in no particular order
+     */
+    public List<ChargingStation> findInBoundingBox(double minLatitude, double minLongitude,
+                                                   double maxLatitude, double maxLongitude,
+                                                   Predicate<ChargingStation> filter) {
+        List<ChargingStation> result = new ArrayList<>();
+        visitBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude, new BoxVisitor() {
+            @Override
+            public void visitEntry(Entry entry) {
+                if (filter == null || filter.test(entry.station)) {
+                    result.add(entry.station);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Find the stations within a distance of a point
+     * @param latitude Latitude of the centre in degrees
+     * @param longitude Longitude of the centre in degrees
+     * @param radiusKm Radius in kilometres
+     * @param filter Condition a station must satisfy, or null to accept every station
+     * @return Matching stations, nearest first
+     */
+    public List<ChargingStation> findWithinRadius(double latitude, double longitude, double radiusKm,
+                                                  Predicate<ChargingStation> filter) {
+        List<Candidate> candidates = new ArrayList<>();
+        visitRadius(latitude, longitude, radiusKm, new BoxVisitor() {
+            @Override
+            public void visitEntry(Entry entry) {
+                double distance = GeoDistance.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+                if (distance <= radiusKm && (filter == null || filter.test(entry.station))) {
+                    candidates.add(new Candidate(entry.station, distance));
+                }
+            }
+        });
+        candidates.sort(Comparator.comparingDouble(c -> c.distanceKm));
+
+        List<ChargingStation> result = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            result.add(candidate.station);
+        }
+        return result;
+    }
+
+    /**
+     * Find the stations within a corridor around a route.
+     * Each segment only examines the grid cells around its own bounding box, so the cost grows with
+     * route length and corridor population rather than with segments times stations.
+     * @param latitudes Latitudes of the route points in degrees, in driving order
+     * @param longitudes Longitudes of the route points in degrees, in driving order
+     * @param corridorKm Maximum distance in kilometres between a station and the route
+     * @param filter Condition a station must satisfy, or null to accept every station
+     * @return Matching stations ordered by the route distance at which they are passed
+     */
+    public List<ChargingStation> findAlongRoute(double[] latitudes, double[] longitudes, double corridorKm,
+                                                Predicate<ChargingStation> filter) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Route latitudes and longitudes must have the same length");
+        }
+        if (latitudes.length == 0) {
+            return new ArrayList<>();
+        }
+        if (latitudes.length == 1) {
+            return findWithinRadius(latitudes[0], longitudes[0], corridorKm, filter);
+        }
+
+        // Closest approach found so far for every station inside the corridor
+        Map<Entry, RouteHit> hits = new HashMap<>();
+        double routeKm = 0;
+        for (int i = 0; i + 1 < latitudes.length; i++) {
+            double lat0 = latitudes[i];
+            double lon0 = longitudes[i];
+            double lat1 = latitudes[i + 1];
+            // Take the short way round: a segment from 179 to -179 spans 2 degrees, not 358
+            double lon1 = lon0 + wrapLongitude(longitudes[i + 1] - lon0);
+            double startKm = routeKm;
+
+            // Local flat projection around the segment start; accurate at corridor scale
+            double kmPerLon = GeoDistance.kmPerDegreeLongitude(lat0);
+            double kmPerLat = GeoDistance.KM_PER_DEGREE_LATITUDE;
+            double dx = (lon1 - lon0) * kmPerLon;
+            double dy = (lat1 - lat0) * kmPerLat;
+            double lengthSquared = dx * dx + dy * dy;
+            double segmentKm = Math.sqrt(lengthSquared);
+
+            double latitudeDelta = corridorKm / kmPerLat;
+            double south = Math.max(-90.0, Math.min(lat0, lat1) - latitudeDelta);
+            double north = Math.min(90.0, Math.max(lat0, lat1) + latitudeDelta);
+            double longitudeDelta = corridorKm / GeoDistance.kmPerDegreeLongitude(Math.max(Math.abs(south), Math.abs(north)));
+            double west = Math.min(lon0, lon1) - longitudeDelta;
+            double east = Math.max(lon0, lon1) + longitudeDelta;
+            if (east - west >= 360.0) {
+                west = -180.0;
+                east = 180.0;
+            }
+
+            visitBoundingBox(south, west < -180.0 ? west + 360.0 : west, north, east > 180.0 ? east - 360.0 : east, new BoxVisitor() {
+                @Override
+                public void visitEntry(Entry entry) {
+                    double px = wrapLongitude(entry.longitude - lon0) * kmPerLon;
+                    double py = (entry.latitude - lat0) * kmPerLat;
+                    double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, (px * dx + py * dy) / lengthSquared));
+                    double ex = px - t * dx;
+                    double ey = py - t * dy;
+                    double offsetKm = Math.sqrt(ex * ex + ey * ey);
+                    if (offsetKm > corridorKm) {
+                        return;
+                    }
+                    RouteHit hit = hits.get(entry);
+                    if (hit == null || offsetKm < hit.offsetKm) {
+                        hits.put(entry, new RouteHit(offsetKm, startKm + t * segmentKm));
+                    }
+                }
+            });
+            routeKm += segmentKm;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(hits.size());
+        for (Map.Entry<Entry, RouteHit> hit : hits.entrySet()) {
+            ChargingStation station = hit.getKey().station;
+            if (filter == null || filter.test(station)) {
+                candidates.add(new Candidate(station, hit.getValue().alongKm));
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(c -> c.distanceKm));
+
+        List<ChargingStation> result = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            result.add(candidate.station);
+        }
+        return result;
+    }
+
+    /**
+     * Count the stations per map tile inside a rectangle without materializing them.
+     * Grid cells that fall entirely inside one tile are added by their size alone,
+     * so coarse tiles over a dense area cost one step per occupied cell rather than per station.
+     * @param minLatitude Southern edge in degrees
+     * @param minLongitude Western edge in degrees; greater than maxLongitude for boxes crossing the antimeridian
+     * @param maxLatitude Northern edge in degrees
+     * @param maxLongitude Eastern edge in degrees
+     * @param tileDegrees Tile edge in degrees
+     * @return One cluster per non-empty tile, ordered south to north and west to east
+     */
+    public List<StationCluster> clusterInBoundingBox(double minLatitude, double minLongitude,
+                                                     double maxLatitude, double maxLongitude, double tileDegrees) {
+        if (tileDegrees <= 0) {
+            throw new IllegalArgumentException("Tile size must be greater than zero");
+        }
+
+        // Tile key -> {count, latitude sum, longitude sum}
+        Map<Long, double[]> tiles = new TreeMap<>();
+        visitBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude, new BoxVisitor() {
+            @Override
+            public void visitEntry(Entry entry) {
+                add(tileKey(entry.latitude, entry.longitude, tileDegrees), 1, entry.latitude, entry.longitude);
+            }
+
+            @Override
+            public boolean visitWholeCell(long key, ConcurrentHashMap<Integer, Entry> cell) {
+                double south = cellSouth(rowOf(key));
+                double west = cellWest(colOf(key));
+                long tile = tileKey(south, west, tileDegrees);
+                if (tile != tileKey(south + cellDegrees * 0.999999, west + columnDegrees * 0.999999, tileDegrees)) {
+                    return false;
+                }
+                // Approximate the cell's stations by its centre point
+                add(tile, cell.size(), south + cellDegrees / 2, west + columnDegrees / 2);
+                return true;
+            }
+
+            private void add(long tile, int count, double latitude, double longitude) {
+                double[] totals = tiles.computeIfAbsent(tile, t -> new double[3]);
+                totals[0] += count;
+                totals[1] += latitude * count;
+                totals[2] += longitude * count;
+            }
+        });
+
+        List<StationCluster> result = new ArrayList<>(tiles.size());
+        for (Map.Entry<Long, double[]> tile : tiles.entrySet()) {
+            double[] totals = tile.getValue();
+            if (totals[0] == 0) {
+                continue;
+            }
+            double south = rowOf(tile.getKey()) * tileDegrees - 90.0;
+            double west = colOf(tile.getKey()) * tileDegrees - 180.0;
+            result.add(new StationCluster(south, west, south + tileDegrees, west + tileDegrees,
+                    (int) totals[0], totals[1] / totals[0], totals[2] / totals[0]));
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of stations with usable coordinates
+     * @return Number of indexed stations
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private int scanCell(ConcurrentHashMap<Integer, Entry> cell, double latitude, double longitude, int k,
+                         Predicate<ChargingStation> filter, PriorityQueue<Candidate> best) {
+        int scanned = 0;
+        for (Entry entry : cell.values()) {
+            scanned++;
+            double distance = GeoDistance.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (best.size() == k && distance >= best.peek().distanceKm) {
+                continue;
+            }
+            if (filter != null && !filter.test(entry.station)) {
+                continue;
+            }
+            best.add(new Candidate(entry.station, distance));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+        return scanned;
+    }
+
+    /**
+     * Lower bound on the distance from a point inside the centre cell to any point in a ring of cells
+     */
+    private double minDistanceToRingKm(double latitude, int ring) {
+        if (ring <= 1) {
+            return 0;
+        }
+        double farthestLatitude = Math.abs(latitude) + ring * cellDegrees;
+        return (ring - 1) * Math.min(cellDegrees * GeoDistance.KM_PER_DEGREE_LATITUDE,
+                columnDegrees * GeoDistance.kmPerDegreeLongitude(farthestLatitude));
+    }
+
+    private List<Long> ringCells(int centerRow, int centerCol, int ring) {
+        List<Long> keys = new ArrayList<>(ring == 0 ? 1 : 8 * ring);
+        if (ring == 0) {
+            keys.add(cellKey(centerRow, centerCol));
+            return keys;
+        }
+        // Once the ring is as wide as the grid, its top and bottom rows cover every column exactly once
+        boolean fullWidth = 2 * ring + 1 >= columns;
+        int firstCol = fullWidth ? 0 : centerCol - ring;
+        int lastCol = fullWidth ? columns - 1 : centerCol + ring;
+        for (int c = firstCol; c <= lastCol; c++) {
+            keys.add(cellKey(centerRow - ring, wrapCol(c)));
+            keys.add(cellKey(centerRow + ring, wrapCol(c)));
+        }
+        // Side columns exist only while some column is exactly ring columns away, and coincide at half the grid
+        if (2 * ring <= columns) {
+            int west = wrapCol(centerCol - ring);
+            int east = wrapCol(centerCol + ring);
+            for (int r = centerRow - ring + 1; r <= centerRow + ring - 1; r++) {
+                keys.add(cellKey(r, west));
+                if (east != west) {
+                    keys.add(cellKey(r, east));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private void visitRadius(double latitude, double longitude, double radiusKm, BoxVisitor visitor) {
+        double latitudeDelta = radiusKm / GeoDistance.KM_PER_DEGREE_LATITUDE;
+        double south = Math.max(-90.0, latitude - latitudeDelta);
+        double north = Math.min(90.0, latitude + latitudeDelta);
+        double longitudeDelta = radiusKm / GeoDistance.kmPerDegreeLongitude(Math.max(Math.abs(south), Math.abs(north)));
+
+        if (longitudeDelta >= 180.0 || north >= 90.0 || south <= -90.0) {
+            visitBoundingBox(south, -180.0, north, 180.0, visitor);
+            return;
+        }
+        double west = longitude - longitudeDelta;
+        double east = longitude + longitudeDelta;
+        visitBoundingBox(south, west < -180.0 ? west + 360.0 : west, north, east > 180.0 ? east - 360.0 : east, visitor);
+    }
+
+    private void visitBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                  BoxVisitor visitor) {
+        if (minLongitude > maxLongitude) {
+            // Box crosses the antimeridian: split it into its eastern and western halves. Only the western half
+            // walks column 0, which also holds the stations at longitude 180, so none is visited twice
+            visitColumns(minLatitude, minLongitude, maxLatitude, 180.0, col(minLongitude), columns - 1, visitor);
+            visitBoundingBox(minLatitude, -180.0, maxLatitude, maxLongitude, visitor);
+            return;
+        }
+
+        int minCol = col(minLongitude);
+        visitColumns(minLatitude, minLongitude, maxLatitude, maxLongitude, minCol,
+                Math.min(col(maxLongitude), columns - 1), visitor);
+        if (maxLongitude >= 180.0 && minCol > 0) {
+            // Longitude 180 is stored with -180 in column 0, which the columns above do not reach
+            visitColumns(minLatitude, minLongitude, maxLatitude, maxLongitude, 0, 0, visitor);
+        }
+    }
+
+    private void visitColumns(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                              int minCol, int maxCol, BoxVisitor visitor) {
+        int minRow = row(minLatitude);
+        int maxRow = row(maxLatitude);
+
+        if ((long) (maxRow - minRow + 1) * (maxCol - minCol + 1) > cells.size()) {
+            // Sparse grid relative to the box: walk the occupied cells instead of every cell position
+            for (Map.Entry<Long, ConcurrentHashMap<Integer, Entry>> cell : cells.entrySet()) {
+                int r = rowOf(cell.getKey());
+                int c = colOf(cell.getKey());
+                if (r >= minRow && r <= maxRow && c >= minCol && c <= maxCol) {
+                    visitCell(cell.getKey(), cell.getValue(), minLatitude, minLongitude, maxLatitude, maxLongitude, visitor);
+                }
+            }
+            return;
+        }
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                long key = cellKey(r, c);
+                ConcurrentHashMap<Integer, Entry> cell = cells.get(key);
+                if (cell != null) {
+                    visitCell(key, cell, minLatitude, minLongitude, maxLatitude, maxLongitude, visitor);
+                }
+            }
+        }
+    }
+
+    private void visitCell(long key, ConcurrentHashMap<Integer, Entry> cell,
+                           double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                           BoxVisitor visitor) {
+        double south = cellSouth(rowOf(key));
+        double west = cellWest(colOf(key));
+        boolean inside = south >= minLatitude && south + cellDegrees <= maxLatitude
+                && west >= minLongitude && west + columnDegrees <= maxLongitude;
+
+        if (inside && visitor.visitWholeCell(key, cell)) {
+            return;
+        }
+        for (Entry entry : cell.values()) {
+            if (inside || (entry.latitude >= minLatitude && entry.latitude <= maxLatitude
+                    && StationQuery.inLongitudeRange(entry.longitude, minLongitude, maxLongitude))) {
+                visitor.visitEntry(entry);
+            }
+        }
+    }
+
+    private double cellSouth(int row) {
+        return row * cellDegrees - 90.0;
+    }
+
+    private double cellWest(int col) {
+        return col * columnDegrees - 180.0;
+    }
+
+    private static long tileKey(double latitude, double longitude, double tileDegrees) {
+        return cellKey((int) Math.floor((latitude + 90.0) / tileDegrees), (int) Math.floor((longitude + 180.0) / tileDegrees));
+    }
+
+    private int ringOf(long key, int centerRow, int centerCol) {
+        int colDistance = Math.floorMod(colOf(key) - centerCol, columns);
+        return Math.max(Math.abs(rowOf(key) - centerRow), Math.min(colDistance, columns - colDistance));
+    }
+
+    private void removeFromCell(long key, int id) {
+        cells.computeIfPresent(key, (k, cell) -> {
+            cell.remove(id);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    int row(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellDegrees);
+    }
+
+    int col(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / columnDegrees);
+    }
+
+    int wrapCol(int col) {
+        return Math.floorMod(col, columns);
+    }
+
+    /**
+     * Normalize a longitude difference to the shorter way round
+     * @param degrees Difference between two longitudes in degrees
+     * @return Equivalent difference in [-180, 180)
+     */
+    private static double wrapLongitude(double degrees) {
+        return degrees - 360.0 * Math.floor((degrees + 180.0) / 360.0);
+    }
+
+    static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    static int rowOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    static int colOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Position a station was indexed at; immutable so readers never see a half-updated point
+     */
+    private static final class Entry {
+        final ChargingStation station;
+        final double latitude;
+        final double longitude;
+        final long cellKey;
+
+        Entry(ChargingStation station, double latitude, double longitude, long cellKey) {
+            this.station = station;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cellKey = cellKey;
+        }
+    }
+
+    /**
+     * Callback for stations found by a bounding-box walk
+     */
+    private abstract static class BoxVisitor {
+        abstract void visitEntry(Entry entry);
+
+        /**
+         * Offered a cell lying entirely inside the box before its entries are visited
+         * @return true if the cell was fully handled and its entries should be skipped
+         */
+        boolean visitWholeCell(long key, ConcurrentHashMap<Integer, Entry> cell) {
+            return false;
+        }
+    }
+
+    private static final class RouteHit {
+        final double offsetKm;
+        final double alongKm;
+
+        RouteHit(double offsetKm, double alongKm) {
+            this.offsetKm = offsetKm;
+            this.alongKm = alongKm;
+        }
+    }
+
+    private static final class Candidate {
+        final ChargingStation station;
+        final double distanceKm;
+
+        Candidate(ChargingStation station, double distanceKm) {
+            this.station = station;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
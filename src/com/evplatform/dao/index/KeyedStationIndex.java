@@ -0,0 +1,115 @@
+package com.evplatform.dao.index;
+
+import com.evplatform.vao.ChargingStation;
+
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Hash index from an attribute of a charging station to the IDs of all stations having it.
+ * Each posting list is kept in ascending ID order so results come back in insertion order.
+ *
+ * @param <K> Type of the indexed attribute
+ */
+public class KeyedStationIndex<K> implements StationIndex {
+
+    private final Function<ChargingStation, K> keyExtractor;
+    private final ConcurrentHashMap<K, Posting> postings = new ConcurrentHashMap<>();
+    // Key each station was indexed under, so in-place edits can be moved out of their old posting
+    private final ConcurrentHashMap<Integer, K> keyById = new ConcurrentHashMap<>();
+
+    /**
+     * Create an index over one station attribute
+     * @param keyExtractor Function reading the indexed attribute; null keys are not indexed
+     */
+    public KeyedStationIndex(Function<ChargingStation, K> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    @Override
+    public void index(ChargingStation station) {
+        int id = station.getId();
+        K key = keyExtractor.apply(station);
+        K oldKey = key == null ? keyById.remove(id) : keyById.put(id, key);
+
+        if (oldKey != null && oldKey.equals(key)) {
+            return;
+        }
+        if (oldKey != null) {
+            removeFromPosting(oldKey, id);
+        }
+        if (key != null) {
+            postings.compute(key, (k, posting) -> {
+                Posting result = posting != null ? posting : new Posting();
+                result.add(id);
+                return result;
+            });
+        }
+    }
+
+    @Override
+    public boolean keyChanged(ChargingStation indexed, ChargingStation station) {
+        return !Objects.equals(keyExtractor.apply(indexed), keyExtractor.apply(station));
+    }
+
+    @Override
+    public void unindex(ChargingStation station) {
+        K oldKey = keyById.remove(station.getId());
+        if (oldKey != null) {
+            removeFromPosting(oldKey, station.getId());
+        }
+    }
+
+    /**
+     * Get the IDs of all stations indexed under a key
+     * @param key Attribute value
+     * @return Read-only view of the matching IDs in ascending order
+     */
+    public NavigableSet<Integer> idsFor(K key) {
+        Posting posting = postings.get(key);
+        return posting == null
+                ? Collections.emptyNavigableSet()
+                : Collections.unmodifiableNavigableSet(posting.ids);
+    }
+
+    /**
+     * Count the stations indexed under a key without iterating them
+     * @param key Attribute value
+     * @return Number of matching stations
+     */
+    public int count(K key) {
+        Posting posting = postings.get(key);
+        return posting == null ? 0 : posting.size;
+    }
+
+    private void removeFromPosting(K key, int id) {
+        postings.computeIfPresent(key, (k, posting) -> {
+            posting.remove(id);
+            return posting.size == 0 ? null : posting;
+        });
+    }
+
+    /**
+     * IDs sharing one key; only mutated inside ConcurrentHashMap.compute for that key
+     */
+    private static class Posting {
+        private final ConcurrentSkipListSet<Integer> ids = new ConcurrentSkipListSet<>();
+        private volatile int size;
+
+        void add(int id) {
+            if (ids.add(id)) {
+                size++;
+            }
+        }
+
+        void remove(int id) {
+            if (ids.remove(id)) {
+                size--;
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.evplatform.dao.index;
+
+import com.evplatform.vao.ChargingStation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Inverted trigram index over lower-cased station locations, answering case-insensitive
+ * "location contains text" queries. Each posting list is a sorted int array; queries of three or more
+ * characters merge-intersect the lists of their trigrams, starting with the shortest, and confirm each
+ * surviving candidate against the stored normalized location. Nothing is boxed per candidate.
+ * Because every candidate is confirmed, a removed ID may linger in a posting until the posting is compacted.
+ */
+public class LocationTrigramIndex implements StationIndex {
+
+    // Replaced, never changed in place, inside ConcurrentHashMap.compute for the trigram
+    private final ConcurrentHashMap<Long, Posting> postings = new ConcurrentHashMap<>();
+    // Normalized location each station was indexed under
+    private final ConcurrentHashMap<Integer, String> locationById = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(ChargingStation station) {
+        int id = station.getId();
+        String location = normalize(station.getLocation());
+        String oldLocation = location == null ? locationById.remove(id) : locationById.put(id, location);
+
+        if (location != null && location.equals(oldLocation)) {
+            return;
+        }
+        Set<Long> oldTrigrams = trigrams(oldLocation);
+        Set<Long> newTrigrams = trigrams(location);
+        for (long trigram : oldTrigrams) {
+            if (!newTrigrams.contains(trigram)) {
+                removeFromPosting(trigram, id);
+            }
+        }
+        for (long trigram : newTrigrams) {
+            if (!oldTrigrams.contains(trigram)) {
+                postings.compute(trigram, (key, posting) -> posting != null ? posting.with(id) : Posting.of(id));
+            }
+        }
+    }
+
+    @Override
+    public boolean keyChanged(ChargingStation indexed, ChargingStation station) {
+        return !Objects.equals(indexed.getLocation(), station.getLocation());
+    }
+
+    @Override
+    public void unindex(ChargingStation station) {
+        String oldLocation = locationById.remove(station.getId());
+        for (long trigram : trigrams(oldLocation)) {
+            removeFromPosting(trigram, station.getId());
+        }
+    }
+
+    /**
+     * Find the stations whose location contains a text, ignoring case
+     * @param text Text to look for
+     * @return IDs of the matching stations in ascending order
+     */
+    public List<Integer> idsContaining(String text) {
+        String query = normalize(text);
+        List<Integer> result = new ArrayList<>();
+        if (query == null) {
+            return result;
+        }
+
+        if (query.length() < 3) {
+            // Too short to have a trigram: check the stored locations directly
+            for (Map.Entry<Integer, String> entry : locationById.entrySet()) {
+                if (entry.getValue().contains(query)) {
+                    result.add(entry.getKey());
+                }
+            }
+            Collections.sort(result);
+            return result;
+        }
+
+        List<Posting> lists = new ArrayList<>();
+        for (long trigram : trigrams(query)) {
+            Posting posting = postings.get(trigram);
+            if (posting == null) {
+                return result;
+            }
+            lists.add(posting);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        // Candidates shrink with every list, so each later merge walks at most the survivors
+        Posting shortest = lists.get(0);
+        int[] candidates = Arrays.copyOf(shortest.ids, shortest.size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = intersect(candidates, count, lists.get(i));
+        }
+        for (int i = 0; i < count; i++) {
+            // Shared trigrams do not guarantee the trigrams are adjacent, so confirm the substring
+            String location = locationById.get(candidates[i]);
+            if (location != null && location.contains(query)) {
+                result.add(candidates[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Keep the candidates that also occur in a posting list, in place. Both are sorted, so one forward pass
+     * suffices; the position in the list advances by galloping, which skips long runs when the list is much
+     * longer than the candidates.
+     * @return Number of candidates kept at the front of the array
+     */
+    private static int intersect(int[] candidates, int count, Posting posting) {
+        int[] ids = posting.ids;
+        int size = posting.size;
+        int kept = 0;
+        int from = 0;
+        for (int c = 0; c < count && from < size; c++) {
+            int id = candidates[c];
+            // Gallop to a bound past id, then binary search inside it
+            int step = 1;
+            int to = from;
+            while (to < size && ids[to] < id) {
+                from = to + 1;
+                to += step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(ids, from, Math.min(to + 1, size), id);
+            if (at >= 0) {
+                candidates[kept++] = id;
+                from = at + 1;
+            } else {
+                from = -at - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void removeFromPosting(long trigram, int id) {
+        postings.computeIfPresent(trigram, (key, posting) ->
+                posting.without(id, other -> containsTrigram(locationById.get(other), trigram)));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? null : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean containsTrigram(String location, long trigram) {
+        if (location == null) {
+            return false;
+        }
+        char first = (char) (trigram >>> 32);
+        char second = (char) (trigram >>> 16);
+        char third = (char) trigram;
+        for (int i = 0; i + 3 <= location.length(); i++) {
+            if (location.charAt(i) == first && location.charAt(i + 1) == second && location.charAt(i + 2) == third) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pack every three-character window of a string into a long (16 bits per character)
+     */
+    private static Set<Long> trigrams(String text) {
+        Set<Long> result = new HashSet<>();
+        if (text == null) {
+            return result;
+        }
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return result;
+    }
+
+    /**
+     * IDs sharing one trigram, sorted ascending in ids[0..size). A posting is never changed where readers can
+     * see it: new IDs, which usually arrive in increasing order, are appended into spare capacity past size
+     * and published as a new posting over the same array, and inserting elsewhere copies the array.
+     * Removing an ID only counts it as stale; once half the posting is stale it is compacted in one copy,
+     * so removals from the long postings of common trigrams cost O(1) amortized instead of a copy each.
+     */
+    private static final class Posting {
+        private final int[] ids;
+        private final int size;
+        private final int stale; // Removed IDs still in ids; an upper bound, as a removed ID may come back
+
+        private Posting(int[] ids, int size, int stale) {
+            this.ids = ids;
+            this.size = size;
+            this.stale = stale;
+        }
+
+        static Posting of(int id) {
+            return new Posting(new int[] {id, 0, 0, 0}, 1, 0);
+        }
+
+        Posting with(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return this;
+            }
+            int insertAt = -at - 1;
+            if (insertAt == size && size < ids.length) {
+                // Slots past size are invisible to readers of this posting, so appending there is safe
+                ids[size] = id;
+                return new Posting(ids, size + 1, stale);
+            }
+            int[] grown = new int[Math.max(4, size + (size >> 1) + 1)];
+            System.arraycopy(ids, 0, grown, 0, insertAt);
+            grown[insertAt] = id;
+            System.arraycopy(ids, insertAt, grown, insertAt + 1, size - insertAt);
+            return new Posting(grown, size + 1, stale);
+        }
+
+        /**
+         * @param live Whether an ID still has this posting's trigram; consulted only when compacting
+         * @return Posting without the ID, or null if it would be empty
+         */
+        Posting without(int id, IntPredicate live) {
+            if (Arrays.binarySearch(ids, 0, size, id) < 0) {
+                return this;
+            }
+            if (2 * (stale + 1) < size) {
+                return new Posting(ids, size, stale + 1);
+            }
+            int[] kept = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] != id && live.test(ids[i])) {
+                    kept[count++] = ids[i];
+                }
+            }
+            return count == 0 ? null : new Posting(kept, count, 0);
+        }
+    }
+}
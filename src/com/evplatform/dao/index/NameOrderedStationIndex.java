@@ -0,0 +1,113 @@
+package com.evplatform.dao.index;
+
+import com.evplatform.vao.ChargingStation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Charging stations kept in a skip list ordered by name, then by ID to break ties.
+ * Sorted iteration starts without copying or sorting, and a page after a cursor costs
+ * O(log n + page size).
+ */
+public class NameOrderedStationIndex implements StationIndex {
+
+    private final ConcurrentSkipListMap<NameKey, ChargingStation> stationsByName = new ConcurrentSkipListMap<>();
+    // Key each station was indexed under, so renames can remove the old position
+    private final ConcurrentHashMap<Integer, NameKey> keyById = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(ChargingStation station) {
+        int id = station.getId();
+        NameKey key = station.getName() != null ? new NameKey(station.getName(), id) : null;
+        NameKey oldKey = key == null ? keyById.remove(id) : keyById.put(id, key);
+
+        if (oldKey != null && !oldKey.equals(key)) {
+            stationsByName.remove(oldKey);
+        }
+        if (key != null) {
+            // Also refreshes the value when update() swapped in a new object with the same name
+            stationsByName.put(key, station);
+        }
+    }
+
+    @Override
+    public boolean keyChanged(ChargingStation indexed, ChargingStation station) {
+        return !Objects.equals(indexed.getName(), station.getName());
+    }
+
+    @Override
+    public void unindex(ChargingStation station) {
+        NameKey oldKey = keyById.remove(station.getId());
+        if (oldKey != null) {
+            stationsByName.remove(oldKey);
+        }
+    }
+
+    /**
+     * Iterate stations in name order, lazily
+     * @param afterName Name of the last station already seen, or null to start from the beginning
+     * @param afterId ID of the last station already seen; ignored when afterName is null
+     * @return Weakly consistent iterator over the stations after the cursor
+     */
+    public Iterator<ChargingStation> iterator(String afterName, int afterId) {
+        return tail(afterName, afterId).values().iterator();
+    }
+
+    /**
+     * Get one page of stations in name order
+     * @param afterName Name of the last station of the previous page, or null for the first page
+     * @param afterId ID of the last station of the previous page; ignored when afterName is null
+     * @param limit Maximum number of stations to return
+     * @return Up to limit stations following the cursor
+     */
+    public List<ChargingStation> page(String afterName, int afterId, int limit) {
+        List<ChargingStation> result = new ArrayList<>(Math.max(0, Math.min(limit, 1024)));
+        Iterator<ChargingStation> iterator = iterator(afterName, afterId);
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private ConcurrentNavigableMap<NameKey, ChargingStation> tail(String afterName, int afterId) {
+        return afterName == null ? stationsByName : stationsByName.tailMap(new NameKey(afterName, afterId), false);
+    }
+
+    /**
+     * Sort key: name in natural String order, then ID
+     */
+    private static final class NameKey implements Comparable<NameKey> {
+        final String name;
+        final int id;
+
+        NameKey(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(NameKey other) {
+            int byName = name.compareTo(other.name);
+            return byName != 0 ? byName : Integer.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NameKey)) return false;
+            NameKey key = (NameKey) o;
+            return id == key.id && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + id;
+        }
+    }
+}
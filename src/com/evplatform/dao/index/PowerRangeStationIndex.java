@@ -0,0 +1,110 @@
+package com.evplatform.dao.index;
+
+import com.evplatform.vao.ChargingStation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Charging stations kept in a skip list ordered by maximum charging power, then by ID.
+ * A power range query seeks straight to the lower bound and walks only the matching stations.
+ */
+public class PowerRangeStationIndex implements StationIndex {
+
+    private final ConcurrentSkipListMap<PowerKey, ChargingStation> stationsByPower = new ConcurrentSkipListMap<>();
+    // Key each station was indexed under, so power changes can remove the old position
+    private final ConcurrentHashMap<Integer, PowerKey> keyById = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(ChargingStation station) {
+        PowerKey key = new PowerKey(station.getMaxPowerKw(), station.getId());
+        PowerKey oldKey = keyById.put(station.getId(), key);
+
+        if (oldKey != null && !oldKey.equals(key)) {
+            stationsByPower.remove(oldKey);
+        }
+        stationsByPower.put(key, station);
+    }
+
+    @Override
+    public boolean keyChanged(ChargingStation indexed, ChargingStation station) {
+        return Double.compare(indexed.getMaxPowerKw(), station.getMaxPowerKw()) != 0;
+    }
+
+    @Override
+    public void unindex(ChargingStation station) {
+        PowerKey oldKey = keyById.remove(station.getId());
+        if (oldKey != null) {
+            stationsByPower.remove(oldKey);
+        }
+    }
+
+    /**
+     * Find the stations whose maximum power lies in a range
+     * @param minPowerKw Lower bound in kW, inclusive
+     * @param maxPowerKw Upper bound in kW, inclusive
+     * @param filter Additional condition evaluated in the same pass, or null to accept every station
+     * @return Matching stations ordered by power, then ID
+     */
+    public List<ChargingStation> findInRange(double minPowerKw, double maxPowerKw, Predicate<ChargingStation> filter) {
+        List<ChargingStation> result = new ArrayList<>();
+        for (ChargingStation station : stationsInRange(minPowerKw, maxPowerKw)) {
+            if (filter == null || filter.test(station)) {
+                result.add(station);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Live view of the stations whose maximum power lies in a range, for callers that may stop early
+     * @param minPowerKw Lower bound in kW, inclusive
+     * @param maxPowerKw Upper bound in kW, inclusive
+     * @return Weakly consistent view ordered by power, then ID
+     */
+    public Collection<ChargingStation> stationsInRange(double minPowerKw, double maxPowerKw) {
+        if (minPowerKw > maxPowerKw) {
+            return Collections.emptyList();
+        }
+        PowerKey from = new PowerKey(minPowerKw, Integer.MIN_VALUE);
+        PowerKey to = new PowerKey(maxPowerKw, Integer.MAX_VALUE);
+        return stationsByPower.subMap(from, true, to, true).values();
+    }
+
+    /**
+     * Sort key: maximum power, then ID
+     */
+    private static final class PowerKey implements Comparable<PowerKey> {
+        final double powerKw;
+        final int id;
+
+        PowerKey(double powerKw, int id) {
+            this.powerKw = powerKw;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(PowerKey other) {
+            int byPower = Double.compare(powerKw, other.powerKw);
+            return byPower != 0 ? byPower : Integer.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PowerKey)) return false;
+            PowerKey key = (PowerKey) o;
+            return id == key.id && Double.compare(powerKw, key.powerKw) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.hashCode(powerKw) + id;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.evplatform.dao.index;
+
+import com.evplatform.vao.ChargingStation;
+
+/**
+ * Secondary index over charging stations maintained by ChargingStationDAO.
+ * The DAO calls these methods while holding the writer lock for the station's ID,
+ * so implementations only need to be safe against concurrent readers and writers of other IDs.
+ */
+public interface StationIndex {
+
+    /**
+     * Insert a station, or move it to its current key if it was already indexed
+     * @param station Station to (re)index
+     */
+    void index(ChargingStation station);
+
+    /**
+     * Check whether a change to a station moves it within this index, so update() can skip the indexes
+     * whose keys stayed the same
+     * @param indexed Copy of the station as it was last indexed
+     * @param station Same station in its new state
+     * @return true if the station must be re-indexed
+     */
+    boolean keyChanged(ChargingStation indexed, ChargingStation station);
+
+    /**
+     * Remove a station from the index
+     * @param station Station to remove
+     */
+    void unindex(ChargingStation station);
+}
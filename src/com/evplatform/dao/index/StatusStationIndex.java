@@ -0,0 +1,96 @@
+package com.evplatform.dao.index;
+
+import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.ChargingStation.ChargingStationStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index of charging station IDs bucketed by status, with a live counter per status.
+ * Buckets are created once for every status, so lookups and counts never allocate.
+ */
+public class StatusStationIndex implements StationIndex {
+
+    private final EnumMap<ChargingStationStatus, NavigableSet<Integer>> idsByStatus = new EnumMap<>(ChargingStationStatus.class);
+    private final EnumMap<ChargingStationStatus, AtomicInteger> counts = new EnumMap<>(ChargingStationStatus.class);
+    // The same buckets as bitsets, so they can be intersected with other bitset indexes word by word
+    private final EnumMap<ChargingStationStatus, ConcurrentBitSet> bitsByStatus = new EnumMap<>(ChargingStationStatus.class);
+    // Bucket each station currently sits in, so a re-index knows which bucket to leave
+    private final ConcurrentHashMap<Integer, ChargingStationStatus> statusById = new ConcurrentHashMap<>();
+
+    public StatusStationIndex() {
+        for (ChargingStationStatus status : ChargingStationStatus.values()) {
+            idsByStatus.put(status, new ConcurrentSkipListSet<>());
+            counts.put(status, new AtomicInteger());
+            bitsByStatus.put(status, new ConcurrentBitSet());
+        }
+    }
+
+    @Override
+    public void index(ChargingStation station) {
+        int id = station.getId();
+        ChargingStationStatus status = station.getStatus();
+        ChargingStationStatus oldStatus = status == null ? statusById.remove(id) : statusById.put(id, status);
+
+        if (oldStatus == status) {
+            return;
+        }
+        if (oldStatus != null) {
+            idsByStatus.get(oldStatus).remove(id);
+            bitsByStatus.get(oldStatus).clear(id);
+            counts.get(oldStatus).decrementAndGet();
+        }
+        if (status != null) {
+            idsByStatus.get(status).add(id);
+            bitsByStatus.get(status).set(id);
+            counts.get(status).incrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean keyChanged(ChargingStation indexed, ChargingStation station) {
+        return indexed.getStatus() != station.getStatus();
+    }
+
+    @Override
+    public void unindex(ChargingStation station) {
+        ChargingStationStatus oldStatus = statusById.remove(station.getId());
+        if (oldStatus != null) {
+            idsByStatus.get(oldStatus).remove(station.getId());
+            bitsByStatus.get(oldStatus).clear(station.getId());
+            counts.get(oldStatus).decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the IDs of all stations currently in a status
+     * @param status Station status
+     * @return Read-only view of the matching IDs in ascending order
+     */
+    public NavigableSet<Integer> idsFor(ChargingStationStatus status) {
+        return Collections.unmodifiableNavigableSet(idsByStatus.get(status));
+    }
+
+    /**
+     * Get the IDs of all stations currently in a status as a bitset
+     * @param status Station status
+     * @return Live bitset of matching IDs; callers must not modify it
+     */
+    public ConcurrentBitSet bitsFor(ChargingStationStatus status) {
+        return bitsByStatus.get(status);
+    }
+
+    /**
+     * Count the stations currently in a status
+     * @param status Station status
+     * @return Number of matching stations
+     */
+    public int count(ChargingStationStatus status) {
+        return counts.get(status).get();
+    }
+}
@@ -1,8 +1,15 @@
 package com.evplatform.dao.interfaces;
 
 import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.StationCluster;
+import com.evplatform.vao.StationQuery;
+import com.evplatform.vao.StationSnapshot;
+import com.evplatform.vao.User;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Interface for ChargingStation data access operations.
@@ -30,6 +37,31 @@ public interface ChargingStationDAOInterface {
      */
     List<ChargingStation> getAll();
 
+    /**
+     * Count all charging stations
+     * @return Number of charging stations
+     */
+    int count();
+
+    /**
+     * Get one page of charging stations in ascending ID order, touching only that slice
+     * @param afterId ID of the last entry of the previous page, or 0 for the first page
+     * @param limit Maximum number of charging stations to return
+     * @return Up to limit charging stations with IDs greater than afterId
+     */
+    List<ChargingStation> getPage(int afterId, int limit);
+
+    /**
+     * Stream all charging stations in ID order without copying them.
+     * The stream splits at chunk boundaries, so stream().parallel() spreads evenly across cores;
+     * it is weakly consistent and tolerates stations being added or deleted while it runs.
+     * Its size is only an estimate taken when the stream is created, so it is not SIZED and operations
+     * such as count() or toArray() cannot rely on it. Use snapshot().stream() for an exactly sized stream
+     * over one consistent version.
+     * @return Stream of all charging stations
+     */
+    Stream<ChargingStation> stream();
+
     /**
      * Update an existing charging station
      * @param station Updated charging station object
@@ -51,6 +83,136 @@ public interface ChargingStationDAOInterface {
      */
     List<ChargingStation> getByProviderId(int providerId);
 
+    /**
+     * Count the charging stations owned by a specific provider
+     * @param providerId ID of the provider
+     * @return Number of charging stations owned by the specified provider
+     */
+    int countByProviderId(int providerId);
+
+    /**
+     * Get all charging stations currently in a specific status
+     * @param status Status to match
+     * @return List of charging stations in the specified status
+     */
+    List<ChargingStation> getByStatus(ChargingStation.ChargingStationStatus status);
+
+    /**
+     * Count the charging stations currently in a specific status
+     * @param status Status to match
+     * @return Number of charging stations in the specified status
+     */
+    int countByStatus(ChargingStation.ChargingStationStatus status);
+
+    /**
+     * Get the charging stations in a specific status that a car type can use
+     * @param carType Car type whose power limit must be respected
+     * @param status Status to match
+     * @return List of matching charging stations in ID order
+     */
+    List<ChargingStation> getCompatibleByStatus(User.CarType carType, ChargingStation.ChargingStationStatus status);
+
+    /**
+     * Get all charging stations whose location contains a text, ignoring case
+     * @param text Text to look for, e.g. a region or city name
+     * @return List of matching charging stations in insertion order
+     */
+    List<ChargingStation> getByLocation(String text);
+
+    /**
+     * Get the charging stations whose maximum power lies in a range
+     * @param minPowerKw Lower bound in kW, inclusive
+     * @param maxPowerKw Upper bound in kW, inclusive
+     * @param filter Additional condition checked while walking the range, or null for none
+     * @return List of matching charging stations ordered by power
+     */
+    List<ChargingStation> getByPowerRange(double minPowerKw, double maxPowerKw, Predicate<ChargingStation> filter);
+
+    /**
+     * Find the charging stations nearest to a point
+     * @param latitude Latitude of the point in degrees
+     * @param longitude Longitude of the point in degrees
+     * @param k Maximum number of stations to return
+     * @param filter Condition a station must satisfy, or null to accept every station
+     * @return Up to k matching stations with known coordinates, nearest first
+     */
+    List<ChargingStation> findNearest(double latitude, double longitude, int k, Predicate<ChargingStation> filter);
+
+    /**
+     * Find the charging stations inside a latitude/longitude rectangle
+     * @param minLatitude Southern edge in degrees
+     * @param minLongitude Western edge in degrees; greater than maxLongitude for boxes crossing the antimeridian
+     * @param maxLatitude Northern edge in degrees
+     * @param maxLongitude Eastern edge in degrees
+     * @return Charging stations inside the rectangle, in no particular order
+     */
+    List<ChargingStation> findInBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude);
+
+    /**
+     * Find the charging stations within a distance of a point
+     * @param latitude Latitude of the centre in degrees
+     * @param longitude Longitude of the centre in degrees
+     * @param radiusKm Radius in kilometres
+     * @return Charging stations within the radius, nearest first
+     */
+    List<ChargingStation> findWithinRadius(double latitude, double longitude, double radiusKm);
+
+    /**
+     * Find the charging stations within a corridor around a route
+     * @param latitudes Latitudes of the route points in degrees, in driving order
+     * @param longitudes Longitudes of the route points in degrees, in driving order
+     * @param corridorKm Maximum distance in kilometres between a station and the route
+     * @param filter Condition a station must satisfy, or null to accept every station
+     * @return Matching charging stations ordered by distance along the route
+     */
+    List<ChargingStation> findAlongRoute(double[] latitudes, double[] longitudes, double corridorKm,
+                                         Predicate<ChargingStation> filter);
+
+    /**
+     * Count the charging stations per map tile inside a latitude/longitude rectangle
+     * @param minLatitude Southern edge in degrees
+     * @param minLongitude Western edge in degrees; greater than maxLongitude for boxes crossing the antimeridian
+     * @param maxLatitude Northern edge in degrees
+     * @param maxLongitude Eastern edge in degrees
+     * @param tileDegrees Tile edge in degrees
+     * @return One cluster per non-empty tile
+     */
+    List<StationCluster> clusterInBoundingBox(double minLatitude, double minLongitude,
+                                              double maxLatitude, double maxLongitude, double tileDegrees);
+
+    /**
+     * Get an immutable, versioned snapshot of all charging stations for long or cross-provider scans.
+     * Taking a snapshot reads one view per lock stripe and never copies the fleet; snapshots share structure
+     * with each other, and the stations in them are detached copies that later edits do not reach.
+     * @return Snapshot of the latest completed version
+     */
+    StationSnapshot snapshot();
+
+    /**
+     * Run a combined search: the most selective available index supplies the candidates
+     * and the remaining criteria, sort and limit are applied in one pass over them
+     * @param query Search criteria
+     * @return Matching charging stations, in the query's sort order, or ascending ID order if none was given
+     */
+    List<ChargingStation> query(StationQuery query);
+
+    /**
+     * Iterate the charging stations in name order (ties broken by ID) without sorting them
+     * @param afterName Name of the last station already seen, or null to start from the beginning
+     * @param afterId ID of the last station already seen; ignored when afterName is null
+     * @return Lazy, weakly consistent iterator over the stations after the cursor
+     */
+    Iterator<ChargingStation> iterateByName(String afterName, int afterId);
+
+    /**
+     * Get one page of charging stations in name order (ties broken by ID)
+     * @param afterName Name of the last station of the previous page, or null for the first page
+     * @param afterId ID of the last station of the previous page; ignored when afterName is null
+     * @param limit Maximum number of stations to return
+     * @return Up to limit stations following the cursor
+     */
+    List<ChargingStation> getPageByName(String afterName, int afterId, int limit);
+
     /**
      * Update the status of a charging station
      * @param id ID of the charging station
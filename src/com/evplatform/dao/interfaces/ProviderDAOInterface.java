@@ -3,6 +3,7 @@ package com.evplatform.dao.interfaces;
 import com.evplatform.vao.Provider;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface for Provider data access operations.
@@ -30,6 +31,20 @@ public interface ProviderDAOInterface {
      */
     List<Provider> getAll();
 
+    /**
+     * Get one page of providers in ascending ID order, touching only that slice
+     * @param afterId ID of the last entry of the previous page, or 0 for the first page
+     * @param limit Maximum number of providers to return
+     * @return Up to limit providers with IDs greater than afterId
+     */
+    List<Provider> getPage(int afterId, int limit);
+
+    /**
+     * Stream all providers in ID order without copying them
+     * @return Stream of all providers
+     */
+    Stream<Provider> stream();
+
     /**
      * Update an existing provider
      * @param provider Updated provider object
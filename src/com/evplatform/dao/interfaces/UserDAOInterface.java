@@ -3,6 +3,7 @@ package com.evplatform.dao.interfaces;
 import com.evplatform.vao.User;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface for User data access operations.
@@ -14,8 +15,9 @@ public interface UserDAOInterface {
      * Add a new user
      * @param user User to add
      * @return ID of the newly added user
+     * @throws IllegalArgumentException if the email is already used by another user
      */
-    int add(User user);
+    int add(User user) throws IllegalArgumentException;
 
     /**
      * Get a user by ID
@@ -25,7 +27,7 @@ public interface UserDAOInterface {
     User getById(int id);
 
     /**
-     * Get a user by email
+     * Get a user by email, ignoring case
      * @param email User email
      * @return User object or null if not found
      */
@@ -37,12 +39,27 @@ public interface UserDAOInterface {
      */
     List<User> getAll();
 
+    /**
+     * Get one page of users in ascending ID order, touching only that slice
+     * @param afterId ID of the last entry of the previous page, or 0 for the first page
+     * @param limit Maximum number of users to return
+     * @return Up to limit users with IDs greater than afterId
+     */
+    List<User> getPage(int afterId, int limit);
+
+    /**
+     * Stream all users in ID order without copying them
+     * @return Stream of all users
+     */
+    Stream<User> stream();
+
     /**
      * Update an existing user
      * @param user Updated user object
      * @return true if update was successful, false otherwise
+     * @throws IllegalArgumentException if the email is already used by another user
      */
-    boolean update(User user);
+    boolean update(User user) throws IllegalArgumentException;
 
     /**
      * Delete a user by ID
@@ -1,9 +1,8 @@
 package com.evplatform.iterators;
 
 import com.evplatform.vao.ChargingStation;
-import com.evplatform.vao.Provider;
 
-import java.util.*;
+import java.util.Iterator;
 
 
 public class AllStationsSortedIterator implements Iterator<ChargingStation> {
@@ -11,17 +10,13 @@ public class AllStationsSortedIterator implements Iterator<ChargingStation> {
     private final Iterator<ChargingStation> iterator;
 
 
-    public AllStationsSortedIterator(List<Provider> providers) {
-        // Collect all stations from all providers
-        List<ChargingStation> allStations = new ArrayList<>();
-        for (Provider provider : providers) {
-            allStations.addAll(provider.getChargingStations());
-        }
-
-        // Sort stations by name
-        allStations.sort(Comparator.comparing(ChargingStation::getName));
-
-        this.iterator = allStations.iterator();
+    /**
+     * Walk stations that are already in name order, e.g. from a station snapshot,
+     * so iteration starts without collecting or sorting anything
+     * @param sortedStations Stations sorted by name
+     */
+    public AllStationsSortedIterator(Iterator<ChargingStation> sortedStations) {
+        this.iterator = sortedStations;
     }
 
     @Override
@@ -1,20 +1,26 @@
 package com.evplatform.iterators;
 
 import com.evplatform.vao.ChargingStation;
-import com.evplatform.vao.Provider;
+import com.evplatform.vao.StationQuery;
+import com.evplatform.service.ChargingStationService;
 import com.evplatform.service.ProviderService;
 
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
 
 
 public class IteratorProvider {
 
     private static volatile IteratorProvider instance;
     private final ProviderService providerService;
+    private final ChargingStationService stationService;
 
     private IteratorProvider() {
         this.providerService = ProviderService.getInstance();
+        this.stationService = ChargingStationService.getInstance();
     }
 
     public static IteratorProvider getInstance() {
@@ -28,34 +34,82 @@ public class IteratorProvider {
         return instance;
     }
 
+    // Runs a combined query; the DAO drives it from the most selective index and filters in one pass
+    public Iterator<ChargingStation> getStationIterator(StationQuery query) {
+        return stationService.queryChargingStations(query).iterator();
+    }
+
+
     public Iterator<ChargingStation> getActiveStationIterator(int providerId) {
-        Provider provider = providerService.getProviderById(providerId);
-        if (provider == null) {
-            throw new IllegalArgumentException("Provider not found with ID: " + providerId);
-        }
-        return new ActiveStationIterator(provider);
+        requireProvider(providerId);
+        return getStationIterator(StationQuery.builder()
+                .provider(providerId)
+                .status(ChargingStation.ChargingStationStatus.AVAILABLE)
+                .build());
     }
 
 
     public Iterator<ChargingStation> getSpeedStationIterator(int providerId, double minPower) {
-        Provider provider = providerService.getProviderById(providerId);
-        if (provider == null) {
-            throw new IllegalArgumentException("Provider not found with ID: " + providerId);
-        }
-        return new SpeedStationIterator(provider, minPower);
+        requireProvider(providerId);
+        return getStationIterator(StationQuery.builder()
+                .provider(providerId)
+                .minPower(minPower)
+                .build());
+    }
+
+
+    public Iterator<ChargingStation> getSpeedStationIterator(double minPower, ChargingStation.ChargingStationStatus status, String region) {
+        return getStationIterator(StationQuery.builder()
+                .minPower(minPower)
+                .status(status)
+                .region(region)
+                .build());
     }
 
 
     public Iterator<ChargingStation> getRegionStationIterator(int providerId, String region) {
-        Provider provider = providerService.getProviderById(providerId);
-        if (provider == null) {
-            throw new IllegalArgumentException("Provider not found with ID: " + providerId);
-        }
-        return new RegionStationIterator(provider, region);
+        requireProvider(providerId);
+        return getStationIterator(StationQuery.builder()
+                .provider(providerId)
+                .region(region)
+                .build());
+    }
+
+
+    public Iterator<ChargingStation> getRegionStationIterator(String region) {
+        return getStationIterator(StationQuery.builder()
+                .region(region)
+                .build());
     }
 
     public Iterator<ChargingStation> getAllStationsSortedIterator() {
-        List<Provider> providers = providerService.getAllProviders();
-        return new AllStationsSortedIterator(providers);
+        // Merge one immutable version's name-ordered stripes lazily, so concurrent adds, renames and deletes
+        // cannot skip or repeat stations and nothing is collected or sorted up front
+        return new AllStationsSortedIterator(stationService.getChargingStationSnapshot().iterateByName());
+    }
+
+
+    // Streams one version of the fleet straight from its stripe runs through a bounded heap, so besides the
+    // shared snapshot only the best limit stations are held: O(n log k) time and O(k) extra memory
+    public Iterator<ChargingStation> getTopStationsIterator(Comparator<ChargingStation> comparator, int limit) {
+        return new TopKStationIterator(stationService.getChargingStationSnapshot().iterator(), comparator, limit);
+    }
+
+
+    // Reads the provider's stations from the same snapshot runs, so the selection sees one version of them
+    public Iterator<ChargingStation> getTopStationsIterator(int providerId, Comparator<ChargingStation> comparator, int limit) {
+        requireProvider(providerId);
+        Iterator<ChargingStation> stations = StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                        stationService.getChargingStationSnapshot().iterator(), Spliterator.NONNULL), false)
+                .filter(station -> station.getProviderId() == providerId)
+                .iterator();
+        return new TopKStationIterator(stations, comparator, limit);
+    }
+
+
+    private void requireProvider(int providerId) {
+        if (providerService.getProviderById(providerId) == null) {
+            throw new IllegalArgumentException("Provider not found with ID: " + providerId);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package com.evplatform.iterators;
+
+import com.evplatform.dao.index.GeoDistance;
+import com.evplatform.vao.ChargingStation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+
+/**
+ * Yields the first limit stations of a source in comparator order without sorting the whole source.
+ * Selection keeps a bounded max-heap of the best limit stations seen so far: O(n log k) time and O(k) memory.
+ * The source is not consumed until the first call to hasNext() or next().
+ */
+public class TopKStationIterator implements Iterator<ChargingStation> {
+
+    private final Iterator<ChargingStation> source;
+    private final Comparator<ChargingStation> comparator;
+    private final int limit;
+    private ChargingStation[] selected;
+    private int position;
+
+
+    public TopKStationIterator(Iterator<ChargingStation> source, Comparator<ChargingStation> comparator, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        this.source = source;
+        this.comparator = comparator;
+        this.limit = limit;
+    }
+
+
+    /**
+     * Order by name, then ID
+     */
+    public static Comparator<ChargingStation> byName() {
+        return Comparator.comparing(ChargingStation::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingInt(ChargingStation::getId);
+    }
+
+    /**
+     * Order by maximum power, highest first, then ID
+     */
+    public static Comparator<ChargingStation> byPowerDescending() {
+        return Comparator.comparingDouble(ChargingStation::getMaxPowerKw).reversed()
+                .thenComparingInt(ChargingStation::getId);
+    }
+
+    /**
+     * Order by distance from a point, nearest first; stations without coordinates come last
+     */
+    public static Comparator<ChargingStation> byDistanceFrom(double latitude, double longitude) {
+        return Comparator.comparingDouble((ChargingStation station) -> station.hasCoordinates()
+                        ? GeoDistance.haversineKm(latitude, longitude, station.getLatitude(), station.getLongitude())
+                        : Double.POSITIVE_INFINITY)
+                .thenComparingInt(ChargingStation::getId);
+    }
+
+
+    private void select() {
+        // Max-heap on the comparator: the root is the worst of the stations kept so far
+        PriorityQueue<ChargingStation> heap = new PriorityQueue<>(Math.max(1, limit), comparator.reversed());
+        while (limit > 0 && source.hasNext()) {
+            ChargingStation station = source.next();
+            if (heap.size() < limit) {
+                heap.add(station);
+            } else if (comparator.compare(station, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(station);
+            }
+        }
+        selected = heap.toArray(new ChargingStation[0]);
+        Arrays.sort(selected, comparator);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (selected == null) {
+            select();
+        }
+        return position < selected.length;
+    }
+
+    @Override
+    public ChargingStation next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return selected[position++];
+    }
+}
@@ -23,16 +23,12 @@ public class ChargingStationDisplay implements ChargingStationObserver {
     }
 
     private void updateDisplay() {
-        List<ChargingStation> allStations = stationService.getAllChargingStations();
+        // Read the status buckets directly instead of grouping the full station list
+        List<ChargingStation> availableStations =
+                stationService.getChargingStationsByStatus(ChargingStation.ChargingStationStatus.AVAILABLE);
 
-        // Group stations by status
-        List<ChargingStation> availableStations = allStations.stream()
-                .filter(s -> s.getStatus() == ChargingStation.ChargingStationStatus.AVAILABLE)
-                .collect(Collectors.toList());
-
-        List<ChargingStation> occupiedStations = allStations.stream()
-                .filter(s -> s.getStatus() == ChargingStation.ChargingStationStatus.OCCUPIED)
-                .collect(Collectors.toList());
+        List<ChargingStation> occupiedStations =
+                stationService.getChargingStationsByStatus(ChargingStation.ChargingStationStatus.OCCUPIED);
 
         // Format station names as comma-separated strings
         String availableNames = availableStations.stream()
@@ -4,4 +4,13 @@ import com.evplatform.vao.ChargingStation;
 
 public interface ChargingStationObserver {
     void update(ChargingStation station, ChargingStation.ChargingStationStatus oldStatus);
+
+    /**
+     * Whether this observer is told about every transition, including into and out of RESERVED.
+     * Other observers only see committed states; see ChargingStation for how reservations are reported.
+     * @return true to receive reservation transitions
+     */
+    default boolean observesReservations() {
+        return false;
+    }
 }
\ No newline at end of file
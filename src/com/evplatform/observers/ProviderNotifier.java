@@ -26,6 +26,8 @@ public class ProviderNotifier implements ChargingStationObserver {
                 return "izven uporabe";
             case MAINTENANCE:
                 return "v vzdrževanju";
+            case RESERVED:
+                return "rezervirana";
             default:
                 return "v neznanem stanju";
         }
@@ -8,14 +8,26 @@ import com.evplatform.observers.ObserverManager;
 import com.evplatform.service.interfaces.ChargingStationServiceInterface;
 import com.evplatform.vao.ChargingStation;
 import com.evplatform.vao.Provider;
-
+import com.evplatform.vao.StationCluster;
+import com.evplatform.vao.StationQuery;
+import com.evplatform.vao.StationSnapshot;
+import com.evplatform.vao.User;
+import com.evplatform.vao.VehicleCompatibility;
+
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 
 public class ChargingStationService implements ChargingStationServiceInterface {
 
     private static volatile ChargingStationService instance;
+    // Order of power-range results: by power, ties in ID order like the power index
+    private static final Comparator<ChargingStation> POWER_ORDER =
+            Comparator.comparingDouble(ChargingStation::getMaxPowerKw).thenComparingInt(ChargingStation::getId);
     private final ChargingStationDAOInterface stationDAO;
     private final ProviderDAOInterface providerDAO;
 
@@ -93,12 +105,8 @@ public class ChargingStationService implements ChargingStationServiceInterface {
     @Override
     public ChargingStation getChargingStationById(int id) {
         ChargingStation station = stationDAO.getById(id);
-        if (station != null && station.getProviderId() > 0) {
-            // Load the provider for this station
-            Provider provider = providerDAO.getById(station.getProviderId());
-            if (provider != null) {
-                station.setProvider(provider);
-            }
+        if (station != null) {
+            attachProvider(station);
         }
         return station;
     }
@@ -113,18 +121,35 @@ public class ChargingStationService implements ChargingStationServiceInterface {
         List<ChargingStation> stations = stationDAO.getAll();
 
         // Set provider for each station
-        for (ChargingStation station : stations) {
-            if (station.getProviderId() > 0) {
-                Provider provider = providerDAO.getById(station.getProviderId());
-                if (provider != null) {
-                    station.setProvider(provider);
-                }
-            }
-        }
+        stations.forEach(this::attachProvider);
+
+        return stations;
+    }
+
+    @Override
+    public int countChargingStations() {
+        return stationDAO.count();
+    }
+
+    @Override
+    public List<ChargingStation> getChargingStationsPage(int afterId, int limit) throws IllegalArgumentException {
+        validatePage(afterId, limit);
 
+        List<ChargingStation> stations = stationDAO.getPage(afterId, limit);
+        stations.forEach(this::attachProvider);
         return stations;
     }
 
+    @Override
+    public Stream<ChargingStation> streamChargingStations() {
+        return stationDAO.stream();
+    }
+
+    @Override
+    public StationSnapshot getChargingStationSnapshot() {
+        return stationDAO.snapshot();
+    }
+
     @Override
     public boolean updateChargingStation(ChargingStation station) throws IllegalArgumentException, IllegalStateException {
         validateChargingStation(station);
@@ -147,6 +172,11 @@ public class ChargingStationService implements ChargingStationServiceInterface {
         return stationDAO.getByProviderId(providerId);
     }
 
+    @Override
+    public int countChargingStationsByProviderId(int providerId) {
+        return stationDAO.countByProviderId(providerId);
+    }
+
     @Override
     public boolean updateChargingStationStatus(int id, ChargingStation.ChargingStationStatus status) throws IllegalArgumentException {
         if (status == null) {
@@ -155,4 +185,197 @@ public class ChargingStationService implements ChargingStationServiceInterface {
 
         return stationDAO.updateStatus(id, status);
     }
+
+    @Override
+    public List<ChargingStation> getChargingStationsByStatus(ChargingStation.ChargingStationStatus status) throws IllegalArgumentException {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+
+        List<ChargingStation> stations = stationDAO.getByStatus(status);
+        stations.forEach(this::attachProvider);
+        return stations;
+    }
+
+    @Override
+    public int countChargingStationsByStatus(ChargingStation.ChargingStationStatus status) throws IllegalArgumentException {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+
+        return stationDAO.countByStatus(status);
+    }
+
+    @Override
+    public List<ChargingStation> getCompatibleChargingStations(User.CarType carType,
+                                                               ChargingStation.ChargingStationStatus status) throws IllegalArgumentException {
+        if (carType == null || status == null) {
+            throw new IllegalArgumentException("Car type and status cannot be null");
+        }
+
+        List<ChargingStation> stations = stationDAO.getCompatibleByStatus(carType, status);
+        stations.forEach(this::attachProvider);
+        return stations;
+    }
+
+    @Override
+    public List<ChargingStation> getChargingStationsByRegion(String region) throws IllegalArgumentException {
+        if (region == null) {
+            throw new IllegalArgumentException("Region cannot be null");
+        }
+
+        return withProviders(stationDAO.getByLocation(region));
+    }
+
+    @Override
+    public List<ChargingStation> getChargingStationsByPowerRange(double minPowerKw, double maxPowerKw,
+                                                                 ChargingStation.ChargingStationStatus status,
+                                                                 String region) throws IllegalArgumentException {
+        if (Double.isNaN(minPowerKw) || Double.isNaN(maxPowerKw) || minPowerKw < 0) {
+            throw new IllegalArgumentException("Power range must be non-negative numbers");
+        }
+        if (minPowerKw > maxPowerKw) {
+            throw new IllegalArgumentException("Minimum power cannot be greater than maximum power");
+        }
+
+        if (region != null) {
+            // The trigram index narrows to the region first; only its matches are checked and sorted by power
+            return withProviders(stationDAO.query(StationQuery.builder()
+                    .powerRange(minPowerKw, maxPowerKw)
+                    .status(status)
+                    .region(region)
+                    .sortBy(POWER_ORDER)
+                    .build()));
+        }
+        Predicate<ChargingStation> filter = status != null ? station -> station.getStatus() == status : null;
+        return withProviders(stationDAO.getByPowerRange(minPowerKw, maxPowerKw, filter));
+    }
+
+    @Override
+    public List<ChargingStation> queryChargingStations(StationQuery query) throws IllegalArgumentException {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+
+        return withProviders(stationDAO.query(query));
+    }
+
+    @Override
+    public List<ChargingStation> findNearest(double latitude, double longitude, int k, Predicate<ChargingStation> filter) throws IllegalArgumentException {
+        validateCoordinates(latitude, longitude);
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of results cannot be negative");
+        }
+
+        return withProviders(stationDAO.findNearest(latitude, longitude, k, filter));
+    }
+
+    @Override
+    public List<ChargingStation> findNearest(double latitude, double longitude, int k,
+                                             ChargingStation.ChargingStationStatus status, double minPowerKw) throws IllegalArgumentException {
+        return findNearest(latitude, longitude, k, station ->
+                (status == null || station.getStatus() == status) && station.getMaxPowerKw() >= minPowerKw);
+    }
+
+    @Override
+    public List<ChargingStation> findInBoundingBox(double minLatitude, double minLongitude,
+                                                   double maxLatitude, double maxLongitude) throws IllegalArgumentException {
+        validateBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        return withProviders(stationDAO.findInBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude));
+    }
+
+    @Override
+    public List<ChargingStation> findWithinRadius(double latitude, double longitude, double radiusKm) throws IllegalArgumentException {
+        validateCoordinates(latitude, longitude);
+        if (!(radiusKm >= 0)) {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+
+        return withProviders(stationDAO.findWithinRadius(latitude, longitude, radiusKm));
+    }
+
+    @Override
+    public List<ChargingStation> findAlongRoute(double[] latitudes, double[] longitudes, double corridorKm,
+                                                User.CarType carType, ChargingStation.ChargingStationStatus status) throws IllegalArgumentException {
+        if (latitudes == null || longitudes == null || latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Route latitudes and longitudes must have the same length");
+        }
+        for (int i = 0; i < latitudes.length; i++) {
+            validateCoordinates(latitudes[i], longitudes[i]);
+        }
+        if (!(corridorKm >= 0)) {
+            throw new IllegalArgumentException("Corridor width cannot be negative");
+        }
+
+        return withProviders(stationDAO.findAlongRoute(latitudes, longitudes, corridorKm, station ->
+                (status == null || station.getStatus() == status) &&
+                        (carType == null || VehicleCompatibility.isCompatible(carType, station.getMaxPowerKw()))));
+    }
+
+    @Override
+    public List<StationCluster> clusterInBoundingBox(double minLatitude, double minLongitude,
+                                                     double maxLatitude, double maxLongitude, double tileDegrees) throws IllegalArgumentException {
+        validateBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        if (!(tileDegrees > 0)) {
+            throw new IllegalArgumentException("Tile size must be greater than zero");
+        }
+
+        return stationDAO.clusterInBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude, tileDegrees);
+    }
+
+    @Override
+    public Iterator<ChargingStation> iterateChargingStationsByName() {
+        return stationDAO.iterateByName(null, 0);
+    }
+
+    @Override
+    public List<ChargingStation> getChargingStationsPageByName(String afterName, int afterId, int limit) throws IllegalArgumentException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+
+        return withProviders(stationDAO.getPageByName(afterName, afterId, limit));
+    }
+
+    private List<ChargingStation> withProviders(List<ChargingStation> stations) {
+        stations.forEach(this::attachProvider);
+        return stations;
+    }
+
+    private void attachProvider(ChargingStation station) {
+        Provider current = station.getProvider();
+        if (current != null && current.getId() == station.getProviderId()) {
+            return; // Already linked; setProvider would scan the provider's station list again
+        }
+        if (station.getProviderId() > 0) {
+            Provider provider = providerDAO.getById(station.getProviderId());
+            if (provider != null) {
+                station.setProvider(provider);
+            }
+        }
+    }
+
+    private void validatePage(int afterId, int limit) throws IllegalArgumentException {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("Cursor ID cannot be negative");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+    }
+
+    private void validateBoundingBox(double minLatitude, double minLongitude,
+                                     double maxLatitude, double maxLongitude) throws IllegalArgumentException {
+        validateCoordinates(minLatitude, minLongitude);
+        validateCoordinates(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("Minimum latitude cannot be greater than maximum latitude");
+        }
+    }
+
+    private void validateCoordinates(double latitude, double longitude) throws IllegalArgumentException {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + "," + longitude);
+        }
+    }
 }
\ No newline at end of file
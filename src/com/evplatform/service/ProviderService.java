@@ -11,6 +11,7 @@ import com.evplatform.vao.Provider;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the ProviderServiceInterface.
@@ -97,16 +98,34 @@ public class ProviderService implements ProviderServiceInterface {
         List<Provider> providers = providerDAO.getAll();
 
         // For each provider, load its charging stations
-        for (Provider provider : providers) {
-            List<ChargingStation> stations = stationDAO.getByProviderId(provider.getId());
-            for (ChargingStation station : stations) {
-                station.setProvider(provider);
-            }
+        providers.forEach(this::loadChargingStations);
+
+        return providers;
+    }
+
+    @Override
+    public List<Provider> getProvidersPage(int afterId, int limit) throws IllegalArgumentException {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("Cursor ID cannot be negative");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
         }
 
+        List<Provider> providers = providerDAO.getPage(afterId, limit);
+        providers.forEach(this::loadChargingStations);
         return providers;
     }
 
+    @Override
+    public Stream<Provider> streamProviders() {
+        // Stations are loaded per provider as the stream reaches it, not up front
+        return providerDAO.stream().map(provider -> {
+            loadChargingStations(provider);
+            return provider;
+        });
+    }
+
     @Override
     public boolean updateProvider(Provider provider) throws IllegalArgumentException {
         validateProvider(provider);
@@ -116,11 +135,17 @@ public class ProviderService implements ProviderServiceInterface {
     @Override
     public boolean deleteProvider(int id) throws IllegalStateException {
         // Check if provider has charging stations
-        if (!stationDAO.getByProviderId(id).isEmpty()) {
+        if (stationDAO.countByProviderId(id) > 0) {
             throw new IllegalStateException("Cannot delete provider with ID " + id +
                     " because it has associated charging stations. Delete the charging stations first.");
         }
 
         return providerDAO.delete(id);
     }
-}
\ No newline at end of file
+
+    private void loadChargingStations(Provider provider) {
+        for (ChargingStation station : stationDAO.getByProviderId(provider.getId())) {
+            station.setProvider(provider);
+        }
+    }
+}
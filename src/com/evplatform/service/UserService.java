@@ -3,10 +3,12 @@ package com.evplatform.service;
 import com.evplatform.dao.UserDAO;
 import com.evplatform.dao.interfaces.UserDAOInterface;
 import com.evplatform.service.interfaces.UserServiceInterface;
+import com.evplatform.vao.Money;
 import com.evplatform.vao.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the UserServiceInterface.
@@ -65,18 +67,7 @@ public class UserService implements UserServiceInterface {
             throw new IllegalArgumentException("Car type cannot be null");
         }
 
-        // Check for duplicate email
-        if (user.getId() == 0) {  // Only for new users
-            User existingUser = userDAO.getByEmail(user.getEmail());
-            if (existingUser != null) {
-                throw new IllegalArgumentException("Email already in use: " + user.getEmail());
-            }
-        } else {
-            User existingUser = userDAO.getByEmail(user.getEmail());
-            if (existingUser != null && existingUser.getId() != user.getId()) {
-                throw new IllegalArgumentException("Email already in use: " + user.getEmail());
-            }
-        }
+        // Email uniqueness is enforced atomically by the DAO on add and update
     }
 
     @Override
@@ -110,6 +101,23 @@ public class UserService implements UserServiceInterface {
         return userDAO.getAll();
     }
 
+    @Override
+    public List<User> getUsersPage(int afterId, int limit) throws IllegalArgumentException {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("Cursor ID cannot be negative");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+
+        return userDAO.getPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<User> streamUsers() {
+        return userDAO.stream();
+    }
+
     @Override
     public boolean updateUser(User user) throws IllegalArgumentException {
         validateUser(user);
@@ -132,9 +140,8 @@ public class UserService implements UserServiceInterface {
             throw new IllegalArgumentException("User not found with ID: " + userId);
         }
 
-        user.addFunds(amount);
-        userDAO.update(user);
-        return user.getBalance();
+        // Credited atomically on the stored user, so concurrent top-ups are never lost
+        return Money.toAmount(user.credit(Money.toCents(amount)));
     }
 
     @Override
@@ -148,10 +155,7 @@ public class UserService implements UserServiceInterface {
             throw new IllegalArgumentException("User not found with ID: " + userId);
         }
 
-        boolean success = user.deductFunds(amount);
-        if (success) {
-            userDAO.update(user);
-        }
-        return success;
+        // Either the whole amount is debited or nothing is
+        return user.debit(Money.toCents(amount));
     }
 }
\ No newline at end of file
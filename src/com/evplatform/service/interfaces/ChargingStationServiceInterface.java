@@ -1,8 +1,15 @@
 package com.evplatform.service.interfaces;
 
 import com.evplatform.vao.ChargingStation;
+import com.evplatform.vao.StationCluster;
+import com.evplatform.vao.StationQuery;
+import com.evplatform.vao.StationSnapshot;
+import com.evplatform.vao.User;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Interface for ChargingStation business logic operations.
@@ -38,6 +45,35 @@ public interface ChargingStationServiceInterface {
      */
     List<ChargingStation> getAllChargingStations();
 
+    /**
+     * Count all charging stations without copying them
+     * @return Number of charging stations
+     */
+    int countChargingStations();
+
+    /**
+     * Get one page of charging stations in ascending ID order without copying the whole collection
+     * @param afterId ID of the last entry of the previous page, or 0 for the first page
+     * @param limit Maximum number of charging stations to return
+     * @return Up to limit charging stations with IDs greater than afterId
+     * @throws IllegalArgumentException if afterId is negative or limit is not positive
+     */
+    List<ChargingStation> getChargingStationsPage(int afterId, int limit) throws IllegalArgumentException;
+
+    /**
+     * Stream all charging stations without copying them; call parallel() for fleet-wide analytics.
+     * The stream is weakly consistent and its size is only an estimate; getChargingStationSnapshot().stream()
+     * gives an exactly sized stream over one version.
+     * @return Stream of all charging stations in ID order
+     */
+    Stream<ChargingStation> streamChargingStations();
+
+    /**
+     * Get a consistent, immutable snapshot of all charging stations; later changes do not affect it
+     * @return Snapshot of the charging station set
+     */
+    StationSnapshot getChargingStationSnapshot();
+
     /**
      * Update an existing charging station with validation
      * @param station Updated charging station object
@@ -62,6 +98,13 @@ public interface ChargingStationServiceInterface {
      */
     List<ChargingStation> getChargingStationsByProviderId(int providerId) throws IllegalArgumentException;
 
+    /**
+     * Count the charging stations for a specific provider
+     * @param providerId ID of the provider
+     * @return Number of charging stations owned by the specified provider
+     */
+    int countChargingStationsByProviderId(int providerId);
+
     /**
      * Update the status of a charging station
      * @param id ID of the charging station
@@ -70,4 +113,148 @@ public interface ChargingStationServiceInterface {
      * @throws IllegalArgumentException if status is null
      */
     boolean updateChargingStationStatus(int id, ChargingStation.ChargingStationStatus status) throws IllegalArgumentException;
-}
\ No newline at end of file
+
+    /**
+     * Get all charging stations currently in a specific status
+     * @param status Status to match
+     * @return List of charging stations in the specified status
+     * @throws IllegalArgumentException if status is null
+     */
+    List<ChargingStation> getChargingStationsByStatus(ChargingStation.ChargingStationStatus status) throws IllegalArgumentException;
+
+    /**
+     * Count the charging stations currently in a specific status
+     * @param status Status to match
+     * @return Number of charging stations in the specified status
+     * @throws IllegalArgumentException if status is null
+     */
+    int countChargingStationsByStatus(ChargingStation.ChargingStationStatus status) throws IllegalArgumentException;
+
+    /**
+     * Get the charging stations in a specific status whose power a car type can use
+     * @param carType Car type whose power limit must be respected
+     * @param status Status to match, e.g. AVAILABLE
+     * @return List of matching charging stations in ID order
+     * @throws IllegalArgumentException if carType or status is null
+     */
+    List<ChargingStation> getCompatibleChargingStations(User.CarType carType,
+                                                        ChargingStation.ChargingStationStatus status) throws IllegalArgumentException;
+
+    /**
+     * Get the charging stations of all providers whose location contains a region name, ignoring case
+     * @param region Region or part of a location to look for
+     * @return List of matching charging stations
+     * @throws IllegalArgumentException if region is null
+     */
+    List<ChargingStation> getChargingStationsByRegion(String region) throws IllegalArgumentException;
+
+    /**
+     * Get the charging stations of all providers whose maximum power lies in a range,
+     * optionally restricted to a status and a region
+     * @param minPowerKw Lower bound in kW, inclusive
+     * @param maxPowerKw Upper bound in kW, inclusive; Double.POSITIVE_INFINITY for no upper bound
+     * @param status Status to match, or null for any status
+     * @param region Region or part of a location to look for, ignoring case, or null for any region
+     * @return List of matching charging stations ordered by power
+     * @throws IllegalArgumentException if the power range is invalid
+     */
+    List<ChargingStation> getChargingStationsByPowerRange(double minPowerKw, double maxPowerKw,
+                                                          ChargingStation.ChargingStationStatus status,
+                                                          String region) throws IllegalArgumentException;
+
+    /**
+     * Search charging stations by any combination of status, power range, region, provider and area
+     * @param query Search criteria, sort and limit
+     * @return List of matching charging stations
+     * @throws IllegalArgumentException if query is null
+     */
+    List<ChargingStation> queryChargingStations(StationQuery query) throws IllegalArgumentException;
+
+    /**
+     * Find the charging stations nearest to a point
+     * @param latitude Latitude of the point in degrees
+     * @param longitude Longitude of the point in degrees
+     * @param k Maximum number of stations to return
+     * @param filter Condition a station must satisfy, or null to accept every station
+     * @return Up to k matching stations, nearest first
+     * @throws IllegalArgumentException if the coordinates are out of range or k is negative
+     */
+    List<ChargingStation> findNearest(double latitude, double longitude, int k, Predicate<ChargingStation> filter) throws IllegalArgumentException;
+
+    /**
+     * Find the charging stations nearest to a point with a given status and minimum power
+     * @param latitude Latitude of the point in degrees
+     * @param longitude Longitude of the point in degrees
+     * @param k Maximum number of stations to return
+     * @param status Required status, or null to accept any status
+     * @param minPowerKw Minimum maximum power of the station in kW
+     * @return Up to k matching stations, nearest first
+     * @throws IllegalArgumentException if the coordinates are out of range or k is negative
+     */
+    List<ChargingStation> findNearest(double latitude, double longitude, int k,
+                                      ChargingStation.ChargingStationStatus status, double minPowerKw) throws IllegalArgumentException;
+
+    /**
+     * Find the charging stations inside a map viewport
+     * @param minLatitude Southern edge in degrees
+     * @param minLongitude Western edge in degrees; greater than maxLongitude for viewports crossing the antimeridian
+     * @param maxLatitude Northern edge in degrees
+     * @param maxLongitude Eastern edge in degrees
+     * @return Charging stations inside the viewport, in no particular order
+     * @throws IllegalArgumentException if the viewport is invalid
+     */
+    List<ChargingStation> findInBoundingBox(double minLatitude, double minLongitude,
+                                            double maxLatitude, double maxLongitude) throws IllegalArgumentException;
+
+    /**
+     * Find the charging stations within a distance of a point
+     * @param latitude Latitude of the centre in degrees
+     * @param longitude Longitude of the centre in degrees
+     * @param radiusKm Radius in kilometres
+     * @return Charging stations within the radius, nearest first
+     * @throws IllegalArgumentException if the coordinates are out of range or the radius is negative
+     */
+    List<ChargingStation> findWithinRadius(double latitude, double longitude, double radiusKm) throws IllegalArgumentException;
+
+    /**
+     * Find the charging stations a vehicle can use within a corridor around a planned route
+     * @param latitudes Latitudes of the route points in degrees, in driving order
+     * @param longitudes Longitudes of the route points in degrees, in driving order
+     * @param corridorKm Maximum distance in kilometres between a station and the route
+     * @param carType Car type whose power limit the station must respect, or null to skip the check
+     * @param status Required status, or null to accept any status
+     * @return Matching charging stations ordered by distance along the route
+     * @throws IllegalArgumentException if the route is invalid or the corridor width is negative
+     */
+    List<ChargingStation> findAlongRoute(double[] latitudes, double[] longitudes, double corridorKm,
+                                         User.CarType carType, ChargingStation.ChargingStationStatus status) throws IllegalArgumentException;
+
+    /**
+     * Count the charging stations per map tile inside a viewport, for low zoom levels
+     * @param minLatitude Southern edge in degrees
+     * @param minLongitude Western edge in degrees; greater than maxLongitude for viewports crossing the antimeridian
+     * @param maxLatitude Northern edge in degrees
+     * @param maxLongitude Eastern edge in degrees
+     * @param tileDegrees Tile edge in degrees
+     * @return One cluster per non-empty tile
+     * @throws IllegalArgumentException if the viewport is invalid or the tile size is not positive
+     */
+    List<StationCluster> clusterInBoundingBox(double minLatitude, double minLongitude,
+                                              double maxLatitude, double maxLongitude, double tileDegrees) throws IllegalArgumentException;
+
+    /**
+     * Iterate all charging stations in name order, starting immediately without sorting
+     * @return Lazy iterator over the charging stations sorted by name, then ID
+     */
+    Iterator<ChargingStation> iterateChargingStationsByName();
+
+    /**
+     * Get one page of charging stations in name order; pass the last station of a page to get the next one
+     * @param afterName Name of the last station of the previous page, or null for the first page
+     * @param afterId ID of the last station of the previous page; ignored when afterName is null
+     * @param limit Maximum number of stations to return
+     * @return Up to limit stations following the cursor
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    List<ChargingStation> getChargingStationsPageByName(String afterName, int afterId, int limit) throws IllegalArgumentException;
+}
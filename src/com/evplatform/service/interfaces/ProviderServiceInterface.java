@@ -3,6 +3,7 @@ package com.evplatform.service.interfaces;
 import com.evplatform.vao.Provider;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface for Provider business logic operations.
@@ -37,6 +38,21 @@ public interface ProviderServiceInterface {
      */
     List<Provider> getAllProviders();
 
+    /**
+     * Get one page of providers in ascending ID order without copying the whole collection
+     * @param afterId ID of the last entry of the previous page, or 0 for the first page
+     * @param limit Maximum number of providers to return
+     * @return Up to limit providers with IDs greater than afterId
+     * @throws IllegalArgumentException if afterId is negative or limit is not positive
+     */
+    List<Provider> getProvidersPage(int afterId, int limit) throws IllegalArgumentException;
+
+    /**
+     * Stream all providers in ID order without building a copy of the collection
+     * @return Stream of all providers
+     */
+    Stream<Provider> streamProviders();
+
     /**
      * Update an existing provider with validation
      * @param provider Updated provider object
@@ -3,6 +3,7 @@ package com.evplatform.service.interfaces;
 import com.evplatform.vao.User;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface for User business logic operations.
@@ -51,6 +52,21 @@ public interface UserServiceInterface {
      */
     List<User> getAllUsers();
 
+    /**
+     * Get one page of users in ascending ID order without copying the whole collection
+     * @param afterId ID of the last entry of the previous page, or 0 for the first page
+     * @param limit Maximum number of users to return
+     * @return Up to limit users with IDs greater than afterId
+     * @throws IllegalArgumentException if afterId is negative or limit is not positive
+     */
+    List<User> getUsersPage(int afterId, int limit) throws IllegalArgumentException;
+
+    /**
+     * Stream all users in ID order without building a copy of the collection
+     * @return Stream of all users
+     */
+    Stream<User> streamUsers();
+
     /**
      * Update an existing user with validation
      * @param user Updated user object
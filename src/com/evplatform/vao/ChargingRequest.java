@@ -0,0 +1,101 @@
+package com.evplatform.vao;
+
+import java.util.Objects;
+
+/**
+ * Value Access Object (VAO) describing one request to start charging:
+ * which user wants to charge at which station, and the estimated cost of the session.
+ * An optional idempotency key lets a client retry a request safely: every request carrying the same key
+ * is answered with the result of the first one instead of being processed again.
+ * Instances are immutable, so a batch of requests can be shared between threads.
+ */
+public class ChargingRequest {
+    private final int userId;
+    private final int stationId;
+    private final double estimatedCost;
+    private final String idempotencyKey; // Null when the request must not be deduplicated
+
+    /**
+     * Parameterized constructor for a request without an idempotency key
+     *
+     * @param userId ID of the user who wants to charge
+     * @param stationId ID of the charging station
+     * @param estimatedCost Estimated cost of the charging session
+     */
+    public ChargingRequest(int userId, int stationId, double estimatedCost) {
+        this(userId, stationId, estimatedCost, null);
+    }
+
+    /**
+     * Parameterized constructor
+     *
+     * @param userId ID of the user who wants to charge
+     * @param stationId ID of the charging station
+     * @param estimatedCost Estimated cost of the charging session
+     * @param idempotencyKey Client-chosen key identifying this request across retries, or null for none
+     */
+    public ChargingRequest(int userId, int stationId, double estimatedCost, String idempotencyKey) {
+        this.userId = userId;
+        this.stationId = stationId;
+        this.estimatedCost = estimatedCost;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    /**
+     * Get the ID of the requesting user
+     * @return User ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Get the ID of the requested charging station
+     * @return Station ID
+     */
+    public int getStationId() {
+        return stationId;
+    }
+
+    /**
+     * Get the estimated cost of the charging session
+     * @return Estimated cost
+     */
+    public double getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    /**
+     * Get the key identifying this request across retries
+     * @return Idempotency key, or null if the request is not deduplicated
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChargingRequest that = (ChargingRequest) o;
+        return userId == that.userId &&
+                stationId == that.stationId &&
+                Double.compare(estimatedCost, that.estimatedCost) == 0 &&
+                Objects.equals(idempotencyKey, that.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, stationId, estimatedCost, idempotencyKey);
+    }
+
+    @Override
+    public String toString() {
+        return "ChargingRequest{" +
+                "userId=" + userId +
+                ", stationId=" + stationId +
+                ", estimatedCost=" + estimatedCost +
+                (idempotencyKey != null ? ", idempotencyKey='" + idempotencyKey + '\'' : "") +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.evplatform.vao;
+
+/**
+ * Value Access Object (VAO) holding the outcome of one charging request:
+ * either the session was started, or the reason it was rejected.
+ */
+public class ChargingResult {
+    private final ChargingRequest request;
+    private final RejectionReason rejectionReason; // Null when the request was accepted
+
+    /**
+     * Enum representing why a charging request was rejected
+     */
+    public enum RejectionReason {
+        USER_NOT_FOUND,
+        STATION_NOT_FOUND,
+        STATION_UNAVAILABLE,
+        STATION_CONFLICT, // Another request in the same batch was given the station
+        INSUFFICIENT_FUNDS,
+        VEHICLE_INCOMPATIBLE,
+        INVALID_COST
+    }
+
+    private ChargingResult(ChargingRequest request, RejectionReason rejectionReason) {
+        this.request = request;
+        this.rejectionReason = rejectionReason;
+    }
+
+    /**
+     * Create the result of a request whose charging session was started
+     * @param request The accepted request
+     * @return Accepted result
+     */
+    public static ChargingResult accepted(ChargingRequest request) {
+        return new ChargingResult(request, null);
+    }
+
+    /**
+     * Create the result of a rejected request
+     * @param request The rejected request
+     * @param reason Why the request was rejected
+     * @return Rejected result
+     * @throws IllegalArgumentException if reason is null
+     */
+    public static ChargingResult rejected(ChargingRequest request, RejectionReason reason) throws IllegalArgumentException {
+        if (reason == null) {
+            throw new IllegalArgumentException("Rejection reason cannot be null");
+        }
+        return new ChargingResult(request, reason);
+    }
+
+    /**
+     * Get the request this result belongs to
+     * @return The charging request
+     */
+    public ChargingRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Check whether the charging session was started
+     * @return true if the request was accepted
+     */
+    public boolean isAccepted() {
+        return rejectionReason == null;
+    }
+
+    /**
+     * Get the reason the request was rejected
+     * @return Rejection reason, or null if the request was accepted
+     */
+    public RejectionReason getRejectionReason() {
+        return rejectionReason;
+    }
+
+    @Override
+    public String toString() {
+        return "ChargingResult{" +
+                "request=" + request +
+                ", " + (isAccepted() ? "accepted" : "rejected=" + rejectionReason) +
+                '}';
+    }
+}
@@ -1,9 +1,10 @@
 package com.evplatform.vao;
 
 import com.evplatform.observers.ChargingStationObserver;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 
 public class ChargingStation {
@@ -11,20 +12,25 @@ public class ChargingStation {
     private String name;
     private String location;
     private String coordinates; // GPS coordinates in format "latitude,longitude"
-    private ChargingStationStatus status;
+    private double latitude = Double.NaN; // Parsed from coordinates once; NaN when coordinates are missing or invalid
+    private double longitude = Double.NaN;
+    private volatile Occupancy occupancy = Occupancy.NONE; // Status and current user, swapped together through OCCUPANCY
     private Provider provider; // Reference to the provider object
     private int providerId; // ID of the provider (maintained for backward compatibility)
     private int numberOfConnectors;
     private double maxPowerKw;
-    private String currentUserEmail; // Email of the user currently using this station
-    private final List<ChargingStationObserver> observers = new ArrayList<>(); // Observers list
+    private final List<ChargingStationObserver> observers = new CopyOnWriteArrayList<>(); // Observers list; notified from any thread
+
+    private static final AtomicReferenceFieldUpdater<ChargingStation, Occupancy> OCCUPANCY =
+            AtomicReferenceFieldUpdater.newUpdater(ChargingStation.class, Occupancy.class, "occupancy");
 
 
     public enum ChargingStationStatus {
         AVAILABLE,
         OCCUPIED,
         OUT_OF_SERVICE,
-        MAINTENANCE
+        MAINTENANCE,
+        RESERVED // Held by a charging request between the availability check and the start of charging
     }
 
 
@@ -37,8 +43,8 @@ public class ChargingStation {
         this.id = id;
         this.name = name;
         this.location = location;
-        this.coordinates = coordinates;
-        this.status = status;
+        setCoordinates(coordinates);
+        this.occupancy = new Occupancy(status, null, null);
         this.providerId = providerId;
         this.numberOfConnectors = numberOfConnectors;
         this.maxPowerKw = maxPowerKw;
@@ -51,14 +57,34 @@ public class ChargingStation {
         this.id = id;
         this.name = name;
         this.location = location;
-        this.coordinates = coordinates;
-        this.status = status;
+        setCoordinates(coordinates);
+        this.occupancy = new Occupancy(status, null, null);
         setProvider(provider); // This will also set providerId
         this.numberOfConnectors = numberOfConnectors;
         this.maxPowerKw = maxPowerKw;
     }
 
 
+    /**
+     * Copy a station's current state into a detached object: it has no observers and is not added to the
+     * provider's station list, so later edits to either object are invisible to the other
+     * @param other Station to copy
+     */
+    public ChargingStation(ChargingStation other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.location = other.location;
+        this.coordinates = other.coordinates;
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+        this.occupancy = other.occupancy;
+        this.provider = other.provider;
+        this.providerId = other.providerId;
+        this.numberOfConnectors = other.numberOfConnectors;
+        this.maxPowerKw = other.maxPowerKw;
+    }
+
+
     public int getId() {
         return id;
     }
@@ -99,11 +125,60 @@ public class ChargingStation {
 
     public void setCoordinates(String coordinates) {
         this.coordinates = coordinates;
+        this.latitude = Double.NaN;
+        this.longitude = Double.NaN;
+
+        if (coordinates == null) {
+            return;
+        }
+        int comma = coordinates.indexOf(',');
+        if (comma < 0) {
+            return;
+        }
+        try {
+            double lat = Double.parseDouble(coordinates.substring(0, comma).trim());
+            double lon = Double.parseDouble(coordinates.substring(comma + 1).trim());
+            if (lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180) {
+                this.latitude = lat;
+                this.longitude = lon;
+            }
+        } catch (NumberFormatException e) {
+            // Keep the raw string for display; the station simply has no usable position
+        }
+    }
+
+
+    public void setCoordinates(double latitude, double longitude) {
+        // Comparisons with NaN are always false, so reject non-finite values before the range check
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)) {
+            throw new IllegalArgumentException("Coordinates must be finite: " + latitude + "," + longitude);
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + "," + longitude);
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.coordinates = latitude + "," + longitude;
+    }
+
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude);
     }
 
 
     public ChargingStationStatus getStatus() {
-        return status;
+        return occupancy.status;
     }
 
 
@@ -112,19 +187,89 @@ public class ChargingStation {
             throw new IllegalArgumentException("Status cannot be null");
         }
 
-        // Store the old status for notification
-        ChargingStationStatus oldStatus = this.status;
+        // Update the status and keep the old one for notification.
+        // If status changes from OCCUPIED to AVAILABLE, clear the current user email in the same step.
+        Occupancy current;
+        Occupancy next;
+        do {
+            current = occupancy;
+            boolean sessionEnds = current.status == ChargingStationStatus.OCCUPIED
+                    && status == ChargingStationStatus.AVAILABLE;
+            next = current.next(status, sessionEnds ? null : current.userEmail);
+        } while (!OCCUPANCY.compareAndSet(this, current, next));
+
+        // Notify observers of the status change
+        notifyObservers(current, next);
+    }
+
+
+    /**
+     * Atomically change the status, but only if it currently has the expected value.
+     * Used for reservations: AVAILABLE -> RESERVED -> OCCUPIED, or RESERVED -> AVAILABLE to give it back,
+     * and OCCUPIED -> RESERVED to hand the station straight to the next driver on its waitlist.
+     * Leaving OCCUPIED clears the current user email in the same atomic step.
+     * @param expected Status the station must currently have
+     * @param status New status
+     * @return true if the status was changed, false if another thread changed it first
+     */
+    public boolean compareAndSetStatus(ChargingStationStatus expected, ChargingStationStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        Occupancy current;
+        Occupancy next;
+        do {
+            current = occupancy;
+            if (current.status != expected) {
+                return false;
+            }
+            next = transition(current, status);
+        } while (!OCCUPANCY.compareAndSet(this, current, next));
+        notifyObservers(current, next);
+        return true;
+    }
 
-        // Update the status
-        this.status = status;
 
-        // If status changes from OCCUPIED to AVAILABLE, clear the current user email
-        if (oldStatus == ChargingStationStatus.OCCUPIED && status == ChargingStationStatus.AVAILABLE) {
-            this.currentUserEmail = null;
+    /**
+     * Atomically change the status and the current user email together, but only if the status currently
+     * has the expected value. Used to start a session on a reserved station, so that no reader ever sees
+     * the station OCCUPIED without its user or another session's user on it.
+     * @param expected Status the station must currently have
+     * @param status New status
+     * @param email Email of the user now using the station, or null for none
+     * @return true if the state was changed, false if another thread changed the status first
+     */
+    public boolean compareAndSetStatus(ChargingStationStatus expected, ChargingStationStatus status, String email) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
         }
+        Occupancy current;
+        Occupancy next;
+        do {
+            current = occupancy;
+            if (current.status != expected) {
+                return false;
+            }
+            next = current.next(status, email);
+        } while (!OCCUPANCY.compareAndSet(this, current, next));
+        notifyObservers(current, next);
+        return true;
+    }
 
-        // Notify observers of the status change
-        notifyObservers(oldStatus);
+
+    private static Occupancy transition(Occupancy current, ChargingStationStatus status) {
+        boolean sessionEnds = current.status == ChargingStationStatus.OCCUPIED
+                && status != ChargingStationStatus.OCCUPIED;
+        return current.next(status, sessionEnds ? null : current.userEmail);
+    }
+
+
+    /**
+     * Reserve the station if it is available; exactly one of any number of concurrent callers succeeds
+     * @return true if this caller now holds the reservation
+     */
+    public boolean tryReserve() {
+        return compareAndSetStatus(ChargingStationStatus.AVAILABLE, ChargingStationStatus.RESERVED);
     }
 
 
@@ -159,7 +304,7 @@ public class ChargingStation {
             this.providerId = provider.getId();
 
             // Add this station to the new provider's list if not already there
-            if (!provider.getChargingStations().contains(this)) {
+            if (!provider.hasChargingStation(this)) {
                 provider.addChargingStation(this);
             }
         }
@@ -193,12 +338,25 @@ public class ChargingStation {
 
 
     public String getCurrentUserEmail() {
-        return currentUserEmail;
+        return occupancy.userEmail;
     }
 
 
     public void setCurrentUserEmail(String email) {
-        this.currentUserEmail = email;
+        Occupancy current;
+        do {
+            current = occupancy;
+        } while (!OCCUPANCY.compareAndSet(this, current, new Occupancy(current.status, email, current.heldFrom)));
+    }
+
+
+    /**
+     * Take another station's status and current user in one step, without notifying observers;
+     * used to refresh a detached copy
+     * @param other Station to read from
+     */
+    public void copyOccupancyFrom(ChargingStation other) {
+        this.occupancy = other.occupancy;
     }
 
 
@@ -214,9 +372,30 @@ public class ChargingStation {
     }
 
 
-    private void notifyObservers(ChargingStationStatus oldStatus) {
+    /**
+     * Tell observers about a transition. Observers that do not follow reservations only hear about committed
+     * states: moving into RESERVED is not reported, and moving out of it is reported as a change from the
+     * status the station had before it was reserved. A reservation given back unused is not reported at all.
+     * A station handed from one driver straight to the next is reported as RESERVED -> OCCUPIED, so the new
+     * session starts like any other.
+     */
+    private void notifyObservers(Occupancy previous, Occupancy next) {
+        ChargingStationStatus committedOld = previous.status;
+        if (next.status == ChargingStationStatus.RESERVED) {
+            committedOld = null;
+        } else if (previous.status == ChargingStationStatus.RESERVED && previous.heldFrom != null) {
+            if (previous.heldFrom != next.status) {
+                committedOld = previous.heldFrom;
+            } else if (next.status != ChargingStationStatus.OCCUPIED) {
+                committedOld = null;
+            }
+        }
         for (ChargingStationObserver observer : observers) {
-            observer.update(this, oldStatus);
+            if (observer.observesReservations()) {
+                observer.update(this, previous.status);
+            } else if (committedOld != null) {
+                observer.update(this, committedOld);
+            }
         }
     }
 
@@ -227,7 +406,7 @@ public class ChargingStation {
                 ", name='" + name + '\'' +
                 ", location='" + location + '\'' +
                 ", coordinates='" + coordinates + '\'' +
-                ", status=" + status +
+                ", status=" + occupancy.status +
                 ", providerId=" + providerId +
                 ", providerName=" + (provider != null ? provider.getName() : "null") +
                 ", numberOfConnectors=" + numberOfConnectors +
@@ -247,4 +426,31 @@ public class ChargingStation {
     public int hashCode() {
         return Objects.hash(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Immutable pair of a status and the user on the station, so both can be replaced with one CAS.
+     * While the station is RESERVED it also remembers the status it was reserved from.
+     */
+    private static final class Occupancy {
+        static final Occupancy NONE = new Occupancy(null, null, null);
+
+        final ChargingStationStatus status;
+        final String userEmail;
+        final ChargingStationStatus heldFrom; // Status before the reservation; null unless RESERVED
+
+        Occupancy(ChargingStationStatus status, String userEmail, ChargingStationStatus heldFrom) {
+            this.status = status;
+            this.userEmail = userEmail;
+            this.heldFrom = heldFrom;
+        }
+
+        // Successor state; a reservation keeps the status it was first taken from
+        Occupancy next(ChargingStationStatus nextStatus, String email) {
+            if (nextStatus != ChargingStationStatus.RESERVED) {
+                return new Occupancy(nextStatus, email, null);
+            }
+            ChargingStationStatus from = this.status == ChargingStationStatus.RESERVED ? heldFrom : this.status;
+            return new Occupancy(nextStatus, email, from);
+        }
+    }
+}
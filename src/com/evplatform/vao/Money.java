@@ -0,0 +1,38 @@
+package com.evplatform.vao;
+
+/**
+ * Conversions between currency amounts and the whole cents balances are stored in.
+ * Keeping money in cents avoids floating-point drift across many debits and credits.
+ */
+public final class Money {
+
+    public static final long CENTS_PER_UNIT = 100;
+
+    // Largest amount whose cent value still fits in a long
+    private static final double MAX_AMOUNT = (double) (Long.MAX_VALUE / CENTS_PER_UNIT);
+
+    private Money() {
+    }
+
+    /**
+     * Convert an amount to cents, rounding to the nearest cent
+     * @param amount Amount in currency units, e.g. 12.34
+     * @return Amount in cents, e.g. 1234
+     * @throws IllegalArgumentException if amount is not a finite number within range
+     */
+    public static long toCents(double amount) throws IllegalArgumentException {
+        if (Double.isNaN(amount) || Math.abs(amount) > MAX_AMOUNT) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    /**
+     * Convert cents to an amount in currency units
+     * @param cents Amount in cents
+     * @return Amount in currency units
+     */
+    public static double toAmount(long cents) {
+        return (double) cents / CENTS_PER_UNIT;
+    }
+}
@@ -1,7 +1,10 @@
 package com.evplatform.vao;
 
-import java.util.ArrayList;
+import com.evplatform.dao.PersistentTreap;
+
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -15,7 +18,12 @@ public class Provider {
     private String email;
     private String phone;
     private String address;
-    private List<ChargingStation> chargingStations = new ArrayList<>();
+    // Immutable version of the station list keyed by insertion position, replaced on every change: readers
+    // iterate a stable version without locking, and an add or remove copies only O(log n) nodes
+    private volatile PersistentTreap<Long, ChargingStation> chargingStations = new PersistentTreap<>(Long::compare);
+    // Position of each station in chargingStations, by identity; guarded by this
+    private final Map<ChargingStation, Long> positions = new IdentityHashMap<>();
+    private long nextPosition; // Guarded by this
 
     /**
      * Default constructor
@@ -144,10 +152,19 @@ public class Provider {
 
     /**
      * Get all charging stations owned by this provider
-     * @return List of charging stations
+     * @return Immutable snapshot of the charging stations in the order they were added, unaffected by later changes
      */
     public List<ChargingStation> getChargingStations() {
-        return new ArrayList<>(chargingStations); // Return a defensive copy
+        return chargingStations.values();
+    }
+
+    /**
+     * Check whether a station object is in this provider's list, in constant time
+     * @param station The charging station to look for
+     * @return true if this exact station object has been added and not removed
+     */
+    public synchronized boolean hasChargingStation(ChargingStation station) {
+        return positions.containsKey(station);
     }
 
     /**
@@ -155,7 +172,17 @@ public class Provider {
      * @param chargingStations List of charging stations
      */
     public void setChargingStations(List<ChargingStation> chargingStations) {
-        this.chargingStations = new ArrayList<>(chargingStations); // Create a defensive copy
+        synchronized (this) {
+            PersistentTreap<Long, ChargingStation> next = new PersistentTreap<>(Long::compare);
+            positions.clear();
+            for (ChargingStation station : chargingStations) {
+                if (station != null && !positions.containsKey(station)) {
+                    positions.put(station, nextPosition);
+                    next = next.put(nextPosition++, station);
+                }
+            }
+            this.chargingStations = next;
+        }
     }
 
     /**
@@ -164,7 +191,12 @@ public class Provider {
      */
     public void addChargingStation(ChargingStation station) {
         if (station != null) {
-            chargingStations.add(station);
+            synchronized (this) {
+                if (!positions.containsKey(station)) {
+                    positions.put(station, nextPosition);
+                    chargingStations = chargingStations.put(nextPosition++, station);
+                }
+            }
             // Set the provider reference in the charging station if not already set
             if (station.getProvider() != this) {
                 station.setProvider(this);
@@ -178,7 +210,14 @@ public class Provider {
      * @return true if removed successfully, false otherwise
      */
     public boolean removeChargingStation(ChargingStation station) {
-        boolean removed = chargingStations.remove(station);
+        boolean removed;
+        synchronized (this) {
+            Long position = positions.remove(station);
+            removed = position != null;
+            if (removed) {
+                chargingStations = chargingStations.remove(position);
+            }
+        }
         // Clear the provider reference in the charging station if removed
         if (removed && station.getProvider() == this) {
             station.setProvider(null);
@@ -0,0 +1,103 @@
+package com.evplatform.vao;
+
+/**
+ * Value Access Object (VAO) summarizing the charging stations inside one map tile.
+ * Used at low zoom levels instead of returning every station in the viewport.
+ */
+public class StationCluster {
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double maxLatitude;
+    private final double maxLongitude;
+    private final int count;
+    private final double latitude;
+    private final double longitude;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param minLatitude Southern edge of the tile
+     * @param minLongitude Western edge of the tile
+     * @param maxLatitude Northern edge of the tile
+     * @param maxLongitude Eastern edge of the tile
+     * @param count Number of stations in the tile
+     * @param latitude Latitude of the stations' approximate centroid
+     * @param longitude Longitude of the stations' approximate centroid
+     */
+    public StationCluster(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                          int count, double latitude, double longitude) {
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLatitude = maxLatitude;
+        this.maxLongitude = maxLongitude;
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Get the southern edge of the tile
+     * @return Minimum latitude in degrees
+     */
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    /**
+     * Get the western edge of the tile
+     * @return Minimum longitude in degrees
+     */
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    /**
+     * Get the northern edge of the tile
+     * @return Maximum latitude in degrees
+     */
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    /**
+     * Get the eastern edge of the tile
+     * @return Maximum longitude in degrees
+     */
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    /**
+     * Get the number of stations in the tile
+     * @return Station count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the latitude where the cluster marker should be drawn
+     * @return Centroid latitude in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Get the longitude where the cluster marker should be drawn
+     * @return Centroid longitude in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    @Override
+    public String toString() {
+        return "StationCluster{" +
+                "tile=[" + minLatitude + "," + minLongitude + " - " + maxLatitude + "," + maxLongitude + "]" +
+                ", count=" + count +
+                ", latitude=" + latitude +
+                ", longitude=" + longitude +
+                '}';
+    }
+}
@@ -0,0 +1,323 @@
+package com.evplatform.vao;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Value Access Object (VAO) describing a combined charging station search:
+ * any mix of status, power range, region, provider and bounding box, with an optional sort and limit.
+ * Results come in ascending ID order unless another sort is requested, whichever index serves the query.
+ * Instances are immutable and created through {@link #builder()}.
+ */
+public class StationQuery {
+    private static final Comparator<ChargingStation> ID_ORDER = Comparator.comparingInt(ChargingStation::getId);
+
+    private final ChargingStation.ChargingStationStatus status;
+    private final double minPowerKw;
+    private final double maxPowerKw;
+    private final String region; // Lower-cased once for the location index, matched case-insensitively
+    private final Integer providerId;
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double maxLatitude;
+    private final double maxLongitude;
+    private final Comparator<ChargingStation> sort;
+    private final boolean sortedByName;
+    private final int limit;
+
+    private StationQuery(Builder builder) {
+        this.status = builder.status;
+        this.minPowerKw = builder.minPowerKw;
+        this.maxPowerKw = builder.maxPowerKw;
+        this.region = builder.region != null ? builder.region.toLowerCase(Locale.ROOT) : null;
+        this.providerId = builder.providerId;
+        this.minLatitude = builder.minLatitude;
+        this.minLongitude = builder.minLongitude;
+        this.maxLatitude = builder.maxLatitude;
+        this.maxLongitude = builder.maxLongitude;
+        this.sort = builder.sort != null ? builder.sort : ID_ORDER;
+        this.sortedByName = builder.sortedByName;
+        this.limit = builder.limit;
+    }
+
+    /**
+     * Start building a query that matches every station
+     * @return New builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Check a station against every criterion of the query in a single pass
+     * @param station Station to check
+     * @return true if the station satisfies all criteria
+     */
+    public boolean matches(ChargingStation station) {
+        if (status != null && station.getStatus() != status) {
+            return false;
+        }
+        if (providerId != null && station.getProviderId() != providerId) {
+            return false;
+        }
+        if (hasPowerRange() && (station.getMaxPowerKw() < minPowerKw || station.getMaxPowerKw() > maxPowerKw)) {
+            return false;
+        }
+        if (hasBoundingBox() && !inBoundingBox(station)) {
+            return false;
+        }
+        return region == null || containsIgnoreCase(station.getLocation(), region);
+    }
+
+    // Substring test that compares in place instead of lower-casing a copy of every candidate's location
+    private static boolean containsIgnoreCase(String text, String part) {
+        if (text == null) {
+            return false;
+        }
+        for (int offset = 0, last = text.length() - part.length(); offset <= last; offset++) {
+            if (text.regionMatches(true, offset, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean inBoundingBox(ChargingStation station) {
+        if (!station.hasCoordinates()) {
+            return false;
+        }
+        double latitude = station.getLatitude();
+        double longitude = station.getLongitude();
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        return inLongitudeRange(longitude, minLongitude, maxLongitude);
+    }
+
+    /**
+     * Check whether a longitude lies in a range the way the geo index does. A range whose western edge is east
+     * of its eastern edge crosses the antimeridian. Longitudes -180 and 180 are the same meridian, so a station
+     * on it is in any range reaching either.
+     * @param longitude Longitude to check
+     * @param minLongitude Western edge of the range
+     * @param maxLongitude Eastern edge of the range
+     * @return true if the longitude is in the range
+     */
+    public static boolean inLongitudeRange(double longitude, double minLongitude, double maxLongitude) {
+        if (minLongitude > maxLongitude) {
+            return longitude >= minLongitude || longitude <= maxLongitude;
+        }
+        if (longitude >= minLongitude && longitude <= maxLongitude) {
+            return true;
+        }
+        return Math.abs(longitude) == 180.0 && (minLongitude <= -180.0 || maxLongitude >= 180.0);
+    }
+
+    public ChargingStation.ChargingStationStatus getStatus() {
+        return status;
+    }
+
+    public boolean hasPowerRange() {
+        return minPowerKw > 0 || maxPowerKw < Double.POSITIVE_INFINITY;
+    }
+
+    public double getMinPowerKw() {
+        return minPowerKw;
+    }
+
+    public double getMaxPowerKw() {
+        return maxPowerKw;
+    }
+
+    /**
+     * Get the region criterion
+     * @return Lower-cased region, or null if any region matches
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Get the provider criterion
+     * @return Provider ID, or null if any provider matches
+     */
+    public Integer getProviderId() {
+        return providerId;
+    }
+
+    public boolean hasBoundingBox() {
+        return !Double.isNaN(minLatitude);
+    }
+
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    /**
+     * Get the result order
+     * @return Comparator; ascending ID order unless another sort was requested
+     */
+    public Comparator<ChargingStation> getSort() {
+        return sort;
+    }
+
+    /**
+     * Check whether results are sorted by name, which can be served from the name index without sorting
+     * @return true if sortByName() was requested
+     */
+    public boolean isSortedByName() {
+        return sortedByName;
+    }
+
+    /**
+     * Check whether results are in the default ID order, which a scan of the ID table yields without sorting
+     * @return true if no other sort was requested
+     */
+    public boolean isSortedById() {
+        return sort == ID_ORDER;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        return "StationQuery{" +
+                "status=" + status +
+                ", power=[" + minPowerKw + ", " + maxPowerKw + "]" +
+                ", region='" + region + '\'' +
+                ", providerId=" + providerId +
+                (hasBoundingBox() ? ", box=[" + minLatitude + "," + minLongitude + " - " + maxLatitude + "," + maxLongitude + "]" : "") +
+                ", sort=" + (sortedByName ? "name" : isSortedById() ? "id" : "custom") +
+                ", limit=" + limit +
+                '}';
+    }
+
+    /**
+     * Builder for {@link StationQuery}; every criterion is optional
+     */
+    public static class Builder {
+        private ChargingStation.ChargingStationStatus status;
+        private double minPowerKw = 0;
+        private double maxPowerKw = Double.POSITIVE_INFINITY;
+        private String region;
+        private Integer providerId;
+        private double minLatitude = Double.NaN;
+        private double minLongitude = Double.NaN;
+        private double maxLatitude = Double.NaN;
+        private double maxLongitude = Double.NaN;
+        private Comparator<ChargingStation> sort;
+        private boolean sortedByName;
+        private int limit = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        public Builder status(ChargingStation.ChargingStationStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder minPower(double minPowerKw) {
+            this.minPowerKw = minPowerKw;
+            return this;
+        }
+
+        public Builder powerRange(double minPowerKw, double maxPowerKw) {
+            this.minPowerKw = minPowerKw;
+            this.maxPowerKw = maxPowerKw;
+            return this;
+        }
+
+        public Builder region(String region) {
+            this.region = region;
+            return this;
+        }
+
+        public Builder provider(int providerId) {
+            this.providerId = providerId;
+            return this;
+        }
+
+        /**
+         * Restrict to a latitude/longitude rectangle
+         * @param minLatitude Southern edge in degrees
+         * @param minLongitude Western edge in degrees; greater than maxLongitude for boxes crossing the antimeridian
+         * @param maxLatitude Northern edge in degrees
+         * @param maxLongitude Eastern edge in degrees
+         * @return This builder
+         */
+        public Builder boundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+            this.minLatitude = minLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLatitude = maxLatitude;
+            this.maxLongitude = maxLongitude;
+            return this;
+        }
+
+        public Builder sortBy(Comparator<ChargingStation> sort) {
+            this.sort = sort;
+            this.sortedByName = false;
+            return this;
+        }
+
+        /**
+         * Sort by name, then ID
+         * @return This builder
+         */
+        public Builder sortByName() {
+            this.sort = Comparator.comparing(ChargingStation::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparingInt(ChargingStation::getId);
+            this.sortedByName = true;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Validate the criteria and create the query
+         * @return Immutable query
+         * @throws IllegalArgumentException if the power range, bounding box or limit is invalid
+         */
+        public StationQuery build() throws IllegalArgumentException {
+            if (Double.isNaN(minPowerKw) || Double.isNaN(maxPowerKw) || minPowerKw < 0) {
+                throw new IllegalArgumentException("Power range must be non-negative numbers");
+            }
+            if (minPowerKw > maxPowerKw) {
+                throw new IllegalArgumentException("Minimum power cannot be greater than maximum power");
+            }
+            if (!Double.isNaN(minLatitude) || !Double.isNaN(minLongitude) ||
+                    !Double.isNaN(maxLatitude) || !Double.isNaN(maxLongitude)) {
+                if (!(minLatitude >= -90 && minLatitude <= 90 && maxLatitude >= -90 && maxLatitude <= 90)) {
+                    throw new IllegalArgumentException("Latitude must be between -90 and 90 degrees");
+                }
+                if (!(minLongitude >= -180 && minLongitude <= 180 && maxLongitude >= -180 && maxLongitude <= 180)) {
+                    throw new IllegalArgumentException("Longitude must be between -180 and 180 degrees");
+                }
+                if (minLatitude > maxLatitude) {
+                    throw new IllegalArgumentException("Minimum latitude cannot be greater than maximum latitude");
+                }
+            }
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit cannot be negative");
+            }
+            return new StationQuery(this);
+        }
+    }
+}
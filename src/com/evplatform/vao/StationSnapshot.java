@@ -0,0 +1,230 @@
+package com.evplatform.vao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Value Access Object (VAO) holding an immutable, versioned view of the charging station set.
+ * A snapshot holds detached copies of the stations, taken when each was last added or updated or changed
+ * status, so long scans are never affected by concurrent adds, edits, status changes or deletes and never
+ * block them. The copies must not be modified; look up the live station by ID to change it.
+ * A snapshot is garbage collected as soon as its last reader drops it.
+ */
+public class StationSnapshot {
+    /**
+     * Order of the name-ordered runs: by name, then ID
+     */
+    public static final Comparator<ChargingStation> NAME_ORDER =
+            Comparator.comparing(ChargingStation::getName).thenComparingInt(ChargingStation::getId);
+    private static final Comparator<ChargingStation> BY_ID = Comparator.comparingInt(ChargingStation::getId);
+
+    private final long version;
+    private final List<List<ChargingStation>> runs;
+    private final List<List<ChargingStation>> nameRuns;
+    private final int size;
+    // Built on first use from the runs; a race only builds the same list twice
+    private volatile List<ChargingStation> stationsById;
+    private volatile List<ChargingStation> stationsByName;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param version Store version the snapshot was taken at
+     * @param runs Stations partitioned by ID: station id is in runs.get(id % runs.size()), and each run is in
+     *             ascending ID order; the lists must never change afterwards
+     * @param nameRuns The named stations of the same partitions, each run in NAME_ORDER; the lists must never
+     *                 change afterwards
+     */
+    public StationSnapshot(long version, List<List<ChargingStation>> runs, List<List<ChargingStation>> nameRuns) {
+        if (runs.isEmpty()) {
+            throw new IllegalArgumentException("Snapshot needs at least one run");
+        }
+        this.version = version;
+        this.runs = List.copyOf(runs);
+        this.nameRuns = List.copyOf(nameRuns);
+        int total = 0;
+        for (List<ChargingStation> run : runs) {
+            total += run.size();
+        }
+        this.size = total;
+    }
+
+    /**
+     * Get the store version the snapshot was taken at; later snapshots have higher versions
+     * @return Version number
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the number of stations in the snapshot
+     * @return Station count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the stations in ascending ID order; the first call merges the runs
+     * @return Immutable list of stations
+     */
+    public List<ChargingStation> getStations() {
+        List<ChargingStation> result = stationsById;
+        if (result == null) {
+            List<ChargingStation> merged = new ArrayList<>(size);
+            runs.forEach(merged::addAll);
+            // Each run is already sorted, so this merges them rather than sorting from scratch
+            merged.sort(BY_ID);
+            result = Collections.unmodifiableList(merged);
+            stationsById = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the stations sorted by name, then ID; stations without a name are left out. The first call merges
+     * the name-ordered runs.
+     * @return Immutable list of stations
+     */
+    public List<ChargingStation> getStationsByName() {
+        List<ChargingStation> result = stationsByName;
+        if (result == null) {
+            List<ChargingStation> named = new ArrayList<>(size);
+            iterateByName().forEachRemaining(named::add);
+            result = Collections.unmodifiableList(named);
+            stationsByName = result;
+        }
+        return result;
+    }
+
+    /**
+     * Walk the stations sorted by name, then ID, leaving out stations without a name. The name-ordered runs
+     * are merged lazily, so the first station is returned without collecting or sorting anything and each
+     * further station costs O(log runs).
+     * @return Iterator over the stations
+     */
+    public Iterator<ChargingStation> iterateByName() {
+        return new NameMerge(nameRuns);
+    }
+
+    /**
+     * Walk every station stripe run by stripe run, in no particular order, reading the runs in place
+     * without merging them into one list
+     * @return Iterator over the stations
+     */
+    public Iterator<ChargingStation> iterator() {
+        return new Iterator<ChargingStation>() {
+            private int run;
+            private Iterator<ChargingStation> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && run < runs.size()) {
+                    current = runs.get(run++).iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public ChargingStation next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Find a station in the snapshot by ID
+     * @param id Station ID
+     * @return Station as of the snapshot, or null if it did not exist
+     */
+    public ChargingStation getById(int id) {
+        List<ChargingStation> run = runs.get(Math.floorMod(id, runs.size()));
+        int low = 0;
+        int high = run.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = run.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return run.get(mid);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stream the stations in ascending ID order; the stream knows its exact size and splits evenly
+     * for parallel use
+     * @return Stream of stations
+     */
+    public Stream<ChargingStation> stream() {
+        return getStations().stream();
+    }
+
+    /**
+     * Lazy k-way merge of runs that are each in NAME_ORDER: a heap holds the next station of every run
+     */
+    private static final class NameMerge implements Iterator<ChargingStation> {
+        private final PriorityQueue<Head> heads;
+
+        NameMerge(List<List<ChargingStation>> nameRuns) {
+            heads = new PriorityQueue<>(Math.max(1, nameRuns.size()), (a, b) -> NAME_ORDER.compare(a.next, b.next));
+            for (List<ChargingStation> run : nameRuns) {
+                Iterator<ChargingStation> rest = run.iterator();
+                if (rest.hasNext()) {
+                    heads.add(new Head(rest.next(), rest));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public ChargingStation next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            ChargingStation station = head.next;
+            if (head.rest.hasNext()) {
+                head.next = head.rest.next();
+                heads.add(head);
+            }
+            return station;
+        }
+
+        private static final class Head {
+            ChargingStation next;
+            final Iterator<ChargingStation> rest;
+
+            Head(ChargingStation next, Iterator<ChargingStation> rest) {
+                this.next = next;
+                this.rest = rest;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StationSnapshot{" +
+                "version=" + version +
+                ", stations=" + size +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package com.evplatform.vao;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * Value Access Object (VAO) representing a user of electric charging stations.
@@ -10,9 +11,12 @@ public class User {
     private int id;
     private String name;
     private String email;
-    private double balance;
+    private volatile long balanceCents; // Changed only through BALANCE_CENTS so concurrent debits cannot overdraw
     private CarType carType;
 
+    private static final AtomicLongFieldUpdater<User> BALANCE_CENTS =
+            AtomicLongFieldUpdater.newUpdater(User.class, "balanceCents");
+
     /**
      * Enum representing different car types for compatibility checking
      */
@@ -45,7 +49,7 @@ public class User {
         this.id = id;
         this.name = name;
         this.email = email;
-        this.balance = balance;
+        this.balanceCents = Money.toCents(balance);
         this.carType = carType;
     }
 
@@ -113,7 +117,7 @@ public class User {
      * @return The current balance of the user
      */
     public double getBalance() {
-        return balance;
+        return Money.toAmount(balanceCents);
     }
 
     /**
@@ -121,7 +125,58 @@ public class User {
      * @param balance The balance to set
      */
     public void setBalance(double balance) {
-        this.balance = balance;
+        this.balanceCents = Money.toCents(balance);
+    }
+
+    /**
+     * Get user balance in cents
+     * @return The current balance in cents
+     */
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    /**
+     * Set user balance in cents
+     * @param balanceCents The balance to set, in cents
+     */
+    public void setBalanceCents(long balanceCents) {
+        this.balanceCents = balanceCents;
+    }
+
+    /**
+     * Atomically add cents to the balance; a single atomic add, so concurrent credits never retry
+     * @param cents Amount to add, in cents
+     * @return The balance after the credit, in cents
+     * @throws IllegalArgumentException if cents is negative
+     */
+    public long credit(long cents) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Cannot add negative amount");
+        }
+        return BALANCE_CENTS.addAndGet(this, cents);
+    }
+
+    /**
+     * Atomically subtract cents from the balance if it covers them.
+     * Either the whole amount is debited or, on insufficient funds, nothing is.
+     * @param cents Amount to deduct, in cents
+     * @return true if the debit was applied, false if funds were insufficient
+     * @throws IllegalArgumentException if cents is negative
+     */
+    public boolean debit(long cents) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Cannot deduct negative amount");
+        }
+        while (true) {
+            long current = balanceCents;
+            if (current < cents) {
+                return false;
+            }
+            if (BALANCE_CENTS.compareAndSet(this, current, current - cents)) {
+                return true;
+            }
+        }
     }
 
     /**
@@ -133,7 +188,7 @@ public class User {
         if (amount < 0) {
             throw new IllegalArgumentException("Cannot add negative amount");
         }
-        this.balance += amount;
+        credit(Money.toCents(amount));
     }
 
     /**
@@ -147,11 +202,7 @@ public class User {
             throw new IllegalArgumentException("Cannot deduct negative amount");
         }
 
-        if (balance >= amount) {
-            balance -= amount;
-            return true;
-        }
-        return false;
+        return debit(Money.toCents(amount));
     }
 
     /**
@@ -176,7 +227,7 @@ public class User {
                 "id=" + id +
                 ", name='" + name + '\'' +
                 ", email='" + email + '\'' +
-                ", balance=" + balance +
+                ", balance=" + getBalance() +
                 ", carType=" + carType +
                 '}';
     }
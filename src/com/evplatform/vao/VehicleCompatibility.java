@@ -0,0 +1,44 @@
+package com.evplatform.vao;
+
+/**
+ * Maximum charging power each car type can accept, kept in a primitive table indexed by CarType.ordinal().
+ * Used by the charging request chain, route search and the station compatibility index,
+ * so all of them apply the same limits.
+ */
+public final class VehicleCompatibility {
+
+    // MAX_POWER_KW[carType.ordinal()] is the highest station power the car type can use
+    private static final double[] MAX_POWER_KW = new double[User.CarType.values().length];
+
+    static {
+        MAX_POWER_KW[User.CarType.COMPACT.ordinal()] = 50.0; // Compact cars up to 50kW
+        MAX_POWER_KW[User.CarType.SEDAN.ordinal()] = 100.0;  // Sedans up to 100kW
+        MAX_POWER_KW[User.CarType.SUV.ordinal()] = 150.0;    // SUVs up to 150kW
+        MAX_POWER_KW[User.CarType.VAN.ordinal()] = 100.0;    // Vans up to 100kW
+        MAX_POWER_KW[User.CarType.TRUCK.ordinal()] = 200.0;  // Trucks up to 200kW
+        MAX_POWER_KW[User.CarType.LUXURY.ordinal()] = 350.0; // Luxury cars up to 350kW
+        MAX_POWER_KW[User.CarType.SPORTS.ordinal()] = 350.0; // Sports cars up to 350kW
+    }
+
+    private VehicleCompatibility() {
+    }
+
+    /**
+     * Get the highest station power a car type can use
+     * @param carType Car type
+     * @return Power limit in kW, or positive infinity if the car type is unknown
+     */
+    public static double maxPowerKw(User.CarType carType) {
+        return carType == null ? Double.POSITIVE_INFINITY : MAX_POWER_KW[carType.ordinal()];
+    }
+
+    /**
+     * Check whether a car type can charge at a station of the given power
+     * @param carType Car type; a missing car type is compatible with every station
+     * @param stationPowerKw Maximum power of the station in kW
+     * @return true if the station's power is within the car type's limit
+     */
+    public static boolean isCompatible(User.CarType carType, double stationPowerKw) {
+        return carType == null || stationPowerKw <= MAX_POWER_KW[carType.ordinal()];
+    }
+}